@@ -0,0 +1,90 @@
+package org.ifml.eclipse.emf.ui.databinding;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Measures the conversion of multi-valued references to text, with and without the element and character limits.
+ * <p>
+ * The referenced elements are instances of a dynamic class whose label is their name. Run with {@code -prof gc} to report the
+ * allocation rate.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LabelProviderEObjectToStringConverterBenchmark {
+
+    @Param({ "10000", "100000", "1000000" })
+    private int size;
+
+    @Param({ "none", "elements", "chars" })
+    private String limit;
+
+    private List<EObject> elements;
+
+    private LabelProviderEObjectToStringConverter converter;
+
+    @Setup
+    public void setUp() {
+        EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+        ePackage.setName("bench");
+        ePackage.setNsURI("http://www.ifml.org/emf/ui/benchmarks");
+        EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+        eClass.setName("Element");
+        final EAttribute name = EcoreFactory.eINSTANCE.createEAttribute();
+        name.setName("name");
+        name.setEType(EcorePackage.Literals.ESTRING);
+        eClass.getEStructuralFeatures().add(name);
+        ePackage.getEClassifiers().add(eClass);
+        elements = Lists.newArrayListWithCapacity(size);
+        for (int i = 0; i < size; i++) {
+            EObject element = EcoreUtil.create(eClass);
+            element.eSet(name, "element" + i);
+            elements.add(element);
+        }
+        LabelProvider labelProvider = new LabelProvider() {
+            @Override
+            public String getText(Object element) {
+                return (String) ((EObject) element).eGet(name);
+            }
+        };
+        if (limit.equals("elements")) {
+            converter = new LabelProviderEObjectToStringConverter(labelProvider, 10, 0);
+        } else if (limit.equals("chars")) {
+            converter = new LabelProviderEObjectToStringConverter(labelProvider, 0, 200);
+        } else {
+            converter = new LabelProviderEObjectToStringConverter(labelProvider);
+        }
+    }
+
+    @Benchmark
+    public Object convert() {
+        return converter.convert(elements);
+    }
+
+}
@@ -0,0 +1,59 @@
+package org.ifml.eclipse.emf.ui.viewers;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jface.viewers.LabelProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Measures the matching of the filter text of windowed combos against the labels of their elements.
+ * <p>
+ * The texts match many labels by prefix, a few labels by substring only, and no label at all. Run with {@code -prof gc} to report the
+ * allocation rate.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LabelIndexBenchmark {
+
+    private static final int WINDOW_SIZE = 100;
+
+    @Param({ "10000", "100000", "1000000" })
+    private int size;
+
+    @Param({ "element1", "999", "missing" })
+    private String text;
+
+    private LabelIndex index;
+
+    @Setup
+    public void setUp() {
+        List<String> elements = Lists.newArrayListWithCapacity(size);
+        for (int i = 0; i < size; i++) {
+            elements.add("Element" + i);
+        }
+        index = new LabelIndex(new LabelProvider(), elements);
+    }
+
+    @Benchmark
+    public Object match() {
+        return index.match(text, WINDOW_SIZE);
+    }
+
+}
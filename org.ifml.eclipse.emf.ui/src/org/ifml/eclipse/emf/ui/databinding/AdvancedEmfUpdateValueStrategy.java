@@ -1,34 +1,100 @@
 package org.ifml.eclipse.emf.ui.databinding;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+
 import org.eclipse.core.databinding.conversion.IConverter;
 import org.eclipse.emf.databinding.EMFUpdateValueStrategy;
 import org.eclipse.emf.ecore.EReference;
 import org.eclipse.jface.viewers.ILabelProvider;
 
+import com.google.common.collect.Maps;
+
 /**
  * A sub-class of {@link EMFUpdateValueStrategy} which is able to apply custom EMF converters.
- * 
+ * <p>
+ * Converters are stateless, thus a strategy creates at most one converter per pair of types. Strategies obtained from the same
+ * {@link AdvancedEmfUpdateValueStrategyCache} share their converters, and can be shared themselves.
  */
 public final class AdvancedEmfUpdateValueStrategy extends EMFUpdateValueStrategy {
 
     private final ILabelProvider labelProvider;
 
+    private final int maxElements;
+
+    private final int maxChars;
+
+    private final ConcurrentMap<List<Object>, IConverter> converters;
+
     /**
      * Constructs a new strategy.
+     * <p>
+     * Pass an {@link org.ifml.eclipse.emf.ui.viewers.EmfCachingLabelProvider} to avoid computing again the labels of referenced
+     * elements at each conversion.
      * 
      * @param labelProvider
      *            the label provider.
      */
     public AdvancedEmfUpdateValueStrategy(ILabelProvider labelProvider) {
+        this(labelProvider, 0, 0);
+    }
+
+    /**
+     * Constructs a new strategy rendering multi-valued references up to a limit.
+     * <p>
+     * The labels of the referenced elements are appended until either limit is reached, then the text ends with the number of omitted
+     * elements. The complete text is available through {@link #toFullText(Object)}.
+     * 
+     * @param labelProvider
+     *            the label provider.
+     * @param maxElements
+     *            the maximum number of rendered elements, or {@code 0} for no limit.
+     * @param maxChars
+     *            the number of characters after which no more elements are rendered, or {@code 0} for no limit.
+     */
+    public AdvancedEmfUpdateValueStrategy(ILabelProvider labelProvider, int maxElements, int maxChars) {
+        this(labelProvider, maxElements, maxChars, Maps.<List<Object>, IConverter> newConcurrentMap());
+    }
+
+    AdvancedEmfUpdateValueStrategy(ILabelProvider labelProvider, int maxElements, int maxChars,
+            ConcurrentMap<List<Object>, IConverter> converters) {
         this.labelProvider = labelProvider;
+        this.maxElements = maxElements;
+        this.maxChars = maxChars;
+        this.converters = converters;
     }
 
     @Override
     protected IConverter createConverter(Object fromType, Object toType) {
-        if ((fromType instanceof EReference) && (String.class == toType)) {
-            return new LabelProviderEObjectToStringConverter(labelProvider);
+        List<Object> key = Arrays.<Object> asList(fromType, toType, maxElements, maxChars);
+        IConverter converter = converters.get(key);
+        if (converter == null) {
+            if ((fromType instanceof EReference) && (String.class == toType)) {
+                converter = new LabelProviderEObjectToStringConverter(labelProvider, maxElements, maxChars);
+            } else {
+                converter = super.createConverter(fromType, toType);
+                if (converter == null) {
+                    return null;
+                }
+            }
+            IConverter existing = converters.putIfAbsent(key, converter);
+            if (existing != null) {
+                converter = existing;
+            }
         }
-        return super.createConverter(fromType, toType);
+        return converter;
+    }
+
+    /**
+     * Renders the value of a reference without any limit.
+     * 
+     * @param value
+     *            the reference value, either a single element or a list of elements.
+     * @return the complete text.
+     */
+    public String toFullText(Object value) {
+        return new LabelProviderEObjectToStringConverter(labelProvider).convertFully(value);
     }
 
 }
@@ -0,0 +1,83 @@
+package org.ifml.eclipse.emf.ui.databinding;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.core.databinding.conversion.IConverter;
+import org.eclipse.jface.viewers.ILabelProvider;
+
+import com.google.common.collect.Maps;
+
+/**
+ * A cache of the {@link AdvancedEmfUpdateValueStrategy update strategies} using a label provider, and of their converters.
+ * <p>
+ * The cache refers to its label provider, thus it is meant to be owned by the owner of the label provider, e.g. a property section or
+ * an editor, and discarded along with it.
+ */
+public final class AdvancedEmfUpdateValueStrategyCache {
+
+    private final ILabelProvider labelProvider;
+
+    private final ConcurrentMap<List<Object>, IConverter> converters = Maps.newConcurrentMap();
+
+    private final ConcurrentMap<List<Object>, AdvancedEmfUpdateValueStrategy> strategies = Maps.newConcurrentMap();
+
+    /**
+     * Constructs a new cache.
+     * 
+     * @param labelProvider
+     *            the label provider of the strategies.
+     */
+    public AdvancedEmfUpdateValueStrategyCache(ILabelProvider labelProvider) {
+        this.labelProvider = labelProvider;
+    }
+
+    /**
+     * Returns a strategy shared by all the bindings between the same types.
+     * <p>
+     * A strategy retains the converter and the validators of the first binding it is used for, thus it can be shared only by bindings
+     * between the same types.
+     * 
+     * @param fromType
+     *            the type of the source observable, e.g. a structural feature.
+     * @param toType
+     *            the type of the destination observable.
+     * @return the shared strategy.
+     */
+    public AdvancedEmfUpdateValueStrategy getStrategy(Object fromType, Object toType) {
+        List<Object> key = Arrays.asList(fromType, toType);
+        AdvancedEmfUpdateValueStrategy strategy = strategies.get(key);
+        if (strategy == null) {
+            strategy = newStrategy(0, 0);
+            AdvancedEmfUpdateValueStrategy existing = strategies.putIfAbsent(key, strategy);
+            if (existing != null) {
+                strategy = existing;
+            }
+        }
+        return strategy;
+    }
+
+    /**
+     * Creates a strategy rendering multi-valued references up to a limit and sharing the converters of this cache.
+     * 
+     * @param maxElements
+     *            the maximum number of rendered elements, or {@code 0} for no limit.
+     * @param maxChars
+     *            the number of characters after which no more elements are rendered, or {@code 0} for no limit.
+     * @return the new strategy.
+     * @see AdvancedEmfUpdateValueStrategy#AdvancedEmfUpdateValueStrategy(ILabelProvider, int, int)
+     */
+    public AdvancedEmfUpdateValueStrategy newStrategy(int maxElements, int maxChars) {
+        return new AdvancedEmfUpdateValueStrategy(labelProvider, maxElements, maxChars, converters);
+    }
+
+    /**
+     * Discards the cached strategies and converters.
+     */
+    public void clear() {
+        strategies.clear();
+        converters.clear();
+    }
+
+}
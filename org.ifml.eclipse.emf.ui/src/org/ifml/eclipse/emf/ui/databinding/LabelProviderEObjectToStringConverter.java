@@ -6,30 +6,79 @@ import org.eclipse.core.databinding.conversion.Converter;
 import org.eclipse.emf.ecore.EReference;
 import org.eclipse.jface.viewers.ILabelProvider;
 
-import com.google.common.base.Joiner;
-import com.google.common.collect.Lists;
+import com.google.common.base.Preconditions;
 
 final class LabelProviderEObjectToStringConverter extends Converter {
 
     private final ILabelProvider labelProvider;
 
+    private final int maxElements;
+
+    private final int maxChars;
+
     public LabelProviderEObjectToStringConverter(ILabelProvider labelProvider) {
+        this(labelProvider, 0, 0);
+    }
+
+    public LabelProviderEObjectToStringConverter(ILabelProvider labelProvider, int maxElements, int maxChars) {
         super(EReference.class, String.class);
+        Preconditions.checkArgument((maxElements >= 0) && (maxChars >= 0));
         this.labelProvider = labelProvider;
+        this.maxElements = maxElements;
+        this.maxChars = maxChars;
     }
 
     @Override
     public Object convert(Object fromObject) {
+        return convert(fromObject, maxElements, maxChars);
+    }
+
+    /**
+     * Converts a value ignoring the element and character limits.
+     * 
+     * @param fromObject
+     *            the value to convert.
+     * @return the complete text.
+     */
+    public String convertFully(Object fromObject) {
+        return convert(fromObject, 0, 0);
+    }
+
+    private String convert(Object fromObject, int maxElements, int maxChars) {
         if (fromObject instanceof List<?>) {
             List<?> fromList = (List<?>) fromObject;
-            List<String> toList = Lists.newArrayList();
+            StringBuilder builder = new StringBuilder();
+            int count = 0;
             for (Object fromObj : fromList) {
-                toList.add(labelProvider.getText(fromObj));
+                if (((maxElements > 0) && (count >= maxElements)) || ((maxChars > 0) && (builder.length() >= maxChars))) {
+                    appendRemainder(builder, fromList.size() - count);
+                    break;
+                }
+                if (count > 0) {
+                    builder.append(' ');
+                }
+                String text = String.valueOf(labelProvider.getText(fromObj));
+                count++;
+                if ((maxChars > 0) && (builder.length() + text.length() > maxChars)) {
+                    // a single long label must not exceed the limit either
+                    builder.append(text, 0, maxChars - builder.length());
+                    if (count < fromList.size()) {
+                        appendRemainder(builder, fromList.size() - count);
+                    } else {
+                        builder.append('\u2026');
+                    }
+                    break;
+                }
+                builder.append(text);
             }
-            return Joiner.on(' ').join(toList);
+            return builder.toString();
         } else {
             return labelProvider.getText(fromObject);
         }
     }
 
+    private static void appendRemainder(StringBuilder builder, int remaining) {
+        builder.append(" \u2026and ").append(remaining).append(" more");
+    }
+
 }
@@ -7,13 +7,13 @@ import java.util.Map;
 import javax.annotation.Nullable;
 
 import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.gef.EditPart;
 import org.eclipse.gef.EditPartViewer;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.viewers.StructuredSelection;
-import org.ifml.base.Objects2;
 import org.ifml.eclipse.ui.viewers.Selections;
 
 import com.google.common.collect.ImmutableList;
@@ -62,8 +62,9 @@ public final class EditPartEmfSelections {
      * @return the list of {@link EObject} elements.
      */
     public static <T extends EObject> List<T> getModelObjects(ISelection selection, Class<T> modelType, boolean forceCheck) {
-        List<T> result = Lists.newArrayList();
-        for (Iterator<?> i = Selections.toStructuredSelection(selection).iterator(); i.hasNext();) {
+        IStructuredSelection structuredSelection = Selections.toStructuredSelection(selection);
+        List<T> result = Lists.newArrayListWithCapacity(structuredSelection.size());
+        for (Iterator<?> i = structuredSelection.iterator(); i.hasNext();) {
             Object obj = i.next();
             T modelObj = getModelObject(obj, modelType);
             if (modelObj != null) {
@@ -83,9 +84,8 @@ public final class EditPartEmfSelections {
             return null;
         }
         if (toTest instanceof EditPart) {
-            EditPart editPart = (EditPart) toTest;
-            Object model = editPart.getModel();
-            return getModelObject(model, modelType);
+            Object model = ((EditPart) toTest).getModel();
+            return modelType.isInstance(model) ? modelType.cast(model) : getModelObject(model, modelType);
         } else if (modelType.isInstance(toTest)) {
             return modelType.cast(toTest);
         } else if (toTest instanceof IAdaptable) {
@@ -112,15 +112,30 @@ public final class EditPartEmfSelections {
      * @return the selection of edit parts.
      */
     public static ISelection toEditParts(List<?> modelObjects, EditPartViewer viewer) {
-        List<EditPart> editParts = Lists.newArrayList();
+        List<EditPart> editParts = Lists.newArrayListWithCapacity(modelObjects.size());
         Map<?, ?> editPartRegistry = viewer.getEditPartRegistry();
         for (Object modelObj : modelObjects) {
-            EditPart editPart = Objects2.as(editPartRegistry.get(modelObj), EditPart.class);
-            if (editPart != null) {
-                editParts.add(editPart);
+            Object editPart = editPartRegistry.get(modelObj);
+            if (editPart instanceof EditPart) {
+                editParts.add((EditPart) editPart);
             }
         }
         return new StructuredSelection(editParts);
     }
 
+    /**
+     * Returns a selection of all the edit parts whose model objects are instances of a class, including its sub-classes.
+     * <p>
+     * The edit parts are retrieved through the {@link EditPartModelIndex} of the viewer.
+     * 
+     * @param eClass
+     *            the class of the model objects.
+     * @param viewer
+     *            the edit part viewer.
+     * @return the selection of edit parts.
+     */
+    public static ISelection toEditParts(EClass eClass, EditPartViewer viewer) {
+        return new StructuredSelection(EditPartModelIndex.forViewer(viewer).getEditParts(eClass));
+    }
+
 }
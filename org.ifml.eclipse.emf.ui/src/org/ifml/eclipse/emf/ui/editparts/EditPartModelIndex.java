@@ -0,0 +1,194 @@
+package org.ifml.eclipse.emf.ui.editparts;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.gef.ConnectionEditPart;
+import org.eclipse.gef.EditPart;
+import org.eclipse.gef.EditPartListener;
+import org.eclipse.gef.EditPartViewer;
+import org.eclipse.gef.GraphicalEditPart;
+import org.eclipse.gef.NodeListener;
+import org.eclipse.gef.RootEditPart;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * Indexes the edit parts of a viewer by the class of their model objects.
+ * <p>
+ * The index is built once from the edit part tree and is then kept up to date by listening to the addition and removal of child edit
+ * parts, so that all the edit parts of a given type can be retrieved without walking the viewer registry. Connection edit parts are
+ * indexed through the source connections of graphical edit parts.
+ */
+public final class EditPartModelIndex {
+
+    private static final String PROPERTY_KEY = EditPartModelIndex.class.getName();
+
+    private final EditPartViewer viewer;
+
+    private final RootEditPart rootEditPart;
+
+    private final Map<EClass, Set<EditPart>> editPartsByEClass = Maps.newHashMap();
+
+    private final EditPartListener listener = new EditPartListener.Stub() {
+        @Override
+        public void childAdded(EditPart child, int index) {
+            add(child);
+        }
+
+        @Override
+        public void removingChild(EditPart child, int index) {
+            remove(child);
+        }
+    };
+
+    private final NodeListener nodeListener = new NodeListener() {
+        @Override
+        public void sourceConnectionAdded(ConnectionEditPart connection, int index) {
+            add(connection);
+        }
+
+        @Override
+        public void removingSourceConnection(ConnectionEditPart connection, int index) {
+            remove(connection);
+        }
+
+        @Override
+        public void targetConnectionAdded(ConnectionEditPart connection, int index) {
+        }
+
+        @Override
+        public void removingTargetConnection(ConnectionEditPart connection, int index) {
+        }
+    };
+
+    private EditPartModelIndex(EditPartViewer viewer) {
+        this.viewer = viewer;
+        this.rootEditPart = viewer.getRootEditPart();
+        if (rootEditPart != null) {
+            add(rootEditPart);
+        }
+    }
+
+    /**
+     * Returns the index associated with an edit part viewer, creating it if needed.
+     * <p>
+     * The index is stored as a property of the viewer and refers to the root edit part the viewer has when the index is created.
+     * 
+     * @param viewer
+     *            the edit part viewer.
+     * @return the index of the viewer.
+     */
+    public static EditPartModelIndex forViewer(EditPartViewer viewer) {
+        Object index = viewer.getProperty(PROPERTY_KEY);
+        if (index instanceof EditPartModelIndex) {
+            return (EditPartModelIndex) index;
+        }
+        EditPartModelIndex newIndex = new EditPartModelIndex(viewer);
+        viewer.setProperty(PROPERTY_KEY, newIndex);
+        return newIndex;
+    }
+
+    /**
+     * Returns the edit parts whose model objects are instances of a class, including its sub-classes.
+     * 
+     * @param eClass
+     *            the class of the model objects.
+     * @return the list of edit parts.
+     */
+    public List<EditPart> getEditParts(EClass eClass) {
+        int size = 0;
+        for (Map.Entry<EClass, Set<EditPart>> entry : editPartsByEClass.entrySet()) {
+            if (eClass.isSuperTypeOf(entry.getKey())) {
+                size += entry.getValue().size();
+            }
+        }
+        List<EditPart> result = Lists.newArrayListWithCapacity(size);
+        for (Map.Entry<EClass, Set<EditPart>> entry : editPartsByEClass.entrySet()) {
+            if (eClass.isSuperTypeOf(entry.getKey())) {
+                result.addAll(entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of indexed edit parts.
+     * 
+     * @return the number of edit parts.
+     */
+    public int size() {
+        int size = 0;
+        for (Set<EditPart> editParts : editPartsByEClass.values()) {
+            size += editParts.size();
+        }
+        return size;
+    }
+
+    /**
+     * Detaches the index from the edit parts and from the viewer.
+     */
+    public void dispose() {
+        if (rootEditPart != null) {
+            remove(rootEditPart);
+        }
+        editPartsByEClass.clear();
+        if (viewer.getProperty(PROPERTY_KEY) == this) {
+            viewer.setProperty(PROPERTY_KEY, null);
+        }
+    }
+
+    private void add(EditPart editPart) {
+        editPart.removeEditPartListener(listener);
+        editPart.addEditPartListener(listener);
+        Object model = editPart.getModel();
+        if (model instanceof EObject) {
+            EClass eClass = ((EObject) model).eClass();
+            Set<EditPart> editParts = editPartsByEClass.get(eClass);
+            if (editParts == null) {
+                editParts = Sets.newLinkedHashSet();
+                editPartsByEClass.put(eClass, editParts);
+            }
+            editParts.add(editPart);
+        }
+        for (Object child : editPart.getChildren()) {
+            add((EditPart) child);
+        }
+        if (editPart instanceof GraphicalEditPart) {
+            GraphicalEditPart graphicalEditPart = (GraphicalEditPart) editPart;
+            graphicalEditPart.removeNodeListener(nodeListener);
+            graphicalEditPart.addNodeListener(nodeListener);
+            for (Object connection : graphicalEditPart.getSourceConnections()) {
+                add((EditPart) connection);
+            }
+        }
+    }
+
+    private void remove(EditPart editPart) {
+        editPart.removeEditPartListener(listener);
+        Object model = editPart.getModel();
+        if (model instanceof EObject) {
+            EClass eClass = ((EObject) model).eClass();
+            Set<EditPart> editParts = editPartsByEClass.get(eClass);
+            if ((editParts != null) && editParts.remove(editPart) && editParts.isEmpty()) {
+                editPartsByEClass.remove(eClass);
+            }
+        }
+        for (Object child : editPart.getChildren()) {
+            remove((EditPart) child);
+        }
+        if (editPart instanceof GraphicalEditPart) {
+            GraphicalEditPart graphicalEditPart = (GraphicalEditPart) editPart;
+            graphicalEditPart.removeNodeListener(nodeListener);
+            for (Object connection : graphicalEditPart.getSourceConnections()) {
+                remove((EditPart) connection);
+            }
+        }
+    }
+
+}
@@ -1,16 +1,34 @@
 package org.ifml.eclipse.emf.ui.properties;
 
 import java.util.List;
+import java.util.Map;
 
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.jface.viewers.IFilter;
+import org.eclipse.jface.viewers.ISelection;
+import org.eclipse.jface.viewers.IStructuredSelection;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.ui.IWorkbenchPart;
 import org.eclipse.ui.views.properties.tabbed.AbstractSectionDescriptor;
 import org.eclipse.ui.views.properties.tabbed.AbstractTabDescriptor;
 import org.eclipse.ui.views.properties.tabbed.ISection;
+import org.eclipse.ui.views.properties.tabbed.ISectionDescriptor;
+import org.eclipse.ui.views.properties.tabbed.ITabDescriptor;
 
+import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 
 /**
  * An abstract base class for EMF-based property tab descriptors.
+ * <p>
+ * Sections are indexed by model class. The index is used to dispatch selections only when the tab descriptors are provided by an
+ * {@link EmfPropertyTabDescriptorProvider}; otherwise the framework tests every section against the selection.
  */
 public abstract class AbstractEmfPropertyTabDescriptor extends AbstractTabDescriptor {
 
@@ -18,6 +36,10 @@ public abstract class AbstractEmfPropertyTabDescriptor extends AbstractTabDescri
 
     private final String label;
 
+    private ImmutableListMultimap<EClass, ISectionDescriptor> sectionDescriptorsByEClass = ImmutableListMultimap.of();
+
+    private ImmutableMap<EClass, ITabDescriptor> tabDescriptorsByEClass = ImmutableMap.of();
+
     /**
      * Constructs a new descriptor.
      * 
@@ -47,35 +69,106 @@ public abstract class AbstractEmfPropertyTabDescriptor extends AbstractTabDescri
         return label;
     }
 
+    /**
+     * Returns the descriptors of the sections applying to the instances of a model class.
+     * <p>
+     * This allows a tab descriptor provider to return only the sections applying to the selected element, rather than letting the
+     * framework test each section; see {@link EmfPropertyTabDescriptorProvider}.
+     * 
+     * @param eClass
+     *            the model class.
+     * @return the list of section descriptors.
+     */
+    public final List<ISectionDescriptor> getSectionDescriptors(EClass eClass) {
+        return sectionDescriptorsByEClass.get(eClass);
+    }
+
+    /**
+     * Returns a descriptor of this tab listing only the sections applying to the instances of a model class.
+     * 
+     * @param eClass
+     *            the model class.
+     * @return the tab descriptor, or {@code null} if no section applies to the instances of {@code eClass}.
+     */
+    public final ITabDescriptor getTabDescriptor(EClass eClass) {
+        return tabDescriptorsByEClass.get(eClass);
+    }
+
     private final List<SectionDescriptor> createSectionDescriptors() {
         List<SectionDescriptor> descriptors = Lists.newArrayList();
+        ImmutableListMultimap.Builder<EClass, ISectionDescriptor> descriptorsByEClass = ImmutableListMultimap.builder();
         for (EmfPropertySection<?> section : createPropertySections()) {
-            descriptors.add(new SectionDescriptor(getId(), section));
+            SectionDescriptor descriptor = new SectionDescriptor(getId(), section.getEClass(), Suppliers.ofInstance(section), section);
+            descriptors.add(descriptor);
+            descriptorsByEClass.put(section.getEClass(), descriptor);
+        }
+        for (Map.Entry<EClass, Supplier<? extends EmfPropertySection<?>>> entry : createLazyPropertySections().entrySet()) {
+            EClass eClass = entry.getKey();
+            LazySection lazySection = new LazySection(eClass, entry.getValue());
+            SectionDescriptor descriptor = new SectionDescriptor(getId(), eClass, lazySection, lazySection);
+            descriptors.add(descriptor);
+            descriptorsByEClass.put(eClass, descriptor);
+        }
+        sectionDescriptorsByEClass = descriptorsByEClass.build();
+        ImmutableMap.Builder<EClass, ITabDescriptor> tabDescriptors = ImmutableMap.builder();
+        for (EClass eClass : sectionDescriptorsByEClass.keySet()) {
+            tabDescriptors.put(eClass, new EClassTabDescriptor(sectionDescriptorsByEClass.get(eClass)));
         }
+        tabDescriptorsByEClass = tabDescriptors.build();
         return descriptors;
     }
 
     /**
      * Creates the list of property sections.
+     * <p>
+     * The default implementation returns an empty list; sub-classes can override.
      * 
      * @return the list of property sections.
      */
-    protected abstract List<EmfPropertySection<?>> createPropertySections();
+    protected List<EmfPropertySection<?>> createPropertySections() {
+        return ImmutableList.of();
+    }
+
+    /**
+     * Creates the suppliers of the property sections to be instantiated on demand.
+     * <p>
+     * Each supplier is invoked at most once, when an instance of its model class is selected for the first time, and must return a
+     * section for that class. Until then, selections are tested against the model class only, thus a section overriding
+     * {@link EmfPropertySection#select(Object)} applies its own filter only once created. The default implementation returns an empty
+     * map; sub-classes can override.
+     * 
+     * @return the map associating a model class with the supplier of its property section.
+     */
+    protected Map<EClass, Supplier<? extends EmfPropertySection<?>>> createLazyPropertySections() {
+        return ImmutableMap.of();
+    }
 
+    /**
+     * A section descriptor testing single selections directly against its filter.
+     * <p>
+     * The single selected element is resolved once for all sections, thus the filter of each section only compares its model class.
+     * Other selections fall back to the per-element filter logic.
+     */
     private static final class SectionDescriptor extends AbstractSectionDescriptor {
 
         private final String tabId;
 
-        private final EmfPropertySection<?> propertySection;
+        private final String id;
+
+        private final Supplier<? extends EmfPropertySection<?>> propertySection;
 
-        private SectionDescriptor(String tabId, EmfPropertySection<?> propertySection) {
+        private final IFilter filter;
+
+        private SectionDescriptor(String tabId, EClass eClass, Supplier<? extends EmfPropertySection<?>> propertySection, IFilter filter) {
             this.tabId = tabId;
+            this.id = String.format("%s.%s", tabId, eClass.getInstanceClass().getName());
             this.propertySection = propertySection;
+            this.filter = filter;
         }
 
         @Override
         public String getId() {
-            return String.format("%s.%s", tabId, propertySection.getInstanceClass().getName());
+            return id;
         }
 
         @Override
@@ -85,12 +178,20 @@ public abstract class AbstractEmfPropertyTabDescriptor extends AbstractTabDescri
 
         @Override
         public ISection getSectionClass() {
-            return propertySection;
+            return propertySection.get();
         }
 
         @Override
         public IFilter getFilter() {
-            return propertySection;
+            return filter;
+        }
+
+        @Override
+        public boolean appliesTo(IWorkbenchPart part, ISelection selection) {
+            if ((selection instanceof IStructuredSelection) && (((IStructuredSelection) selection).size() == 1)) {
+                return filter.select(selection);
+            }
+            return super.appliesTo(part, selection);
         }
 
         @Override
@@ -112,4 +213,85 @@ public abstract class AbstractEmfPropertyTabDescriptor extends AbstractTabDescri
 
     }
 
+    /**
+     * A view of the enclosing tab restricted to the sections of a model class.
+     */
+    private final class EClassTabDescriptor extends AbstractTabDescriptor {
+
+        private EClassTabDescriptor(List<ISectionDescriptor> sectionDescriptors) {
+            setSectionDescriptors(sectionDescriptors);
+        }
+
+        @Override
+        public String getCategory() {
+            return AbstractEmfPropertyTabDescriptor.this.getCategory();
+        }
+
+        @Override
+        public String getId() {
+            return AbstractEmfPropertyTabDescriptor.this.getId();
+        }
+
+        @Override
+        public String getLabel() {
+            return AbstractEmfPropertyTabDescriptor.this.getLabel();
+        }
+
+        @Override
+        public String getAfterTab() {
+            return AbstractEmfPropertyTabDescriptor.this.getAfterTab();
+        }
+
+        @Override
+        public Image getImage() {
+            return AbstractEmfPropertyTabDescriptor.this.getImage();
+        }
+
+        @Override
+        public boolean isIndented() {
+            return AbstractEmfPropertyTabDescriptor.this.isIndented();
+        }
+
+    }
+
+    /**
+     * A section instantiated on demand, selecting the instances of its model class until then and delegating to its own filter
+     * afterwards.
+     */
+    private static final class LazySection implements Supplier<EmfPropertySection<?>>, IFilter {
+
+        private final EClass eClass;
+
+        private final Supplier<? extends EmfPropertySection<?>> supplier;
+
+        private volatile EmfPropertySection<?> section;
+
+        private LazySection(EClass eClass, Supplier<? extends EmfPropertySection<?>> supplier) {
+            this.eClass = eClass;
+            this.supplier = supplier;
+        }
+
+        @Override
+        public synchronized EmfPropertySection<?> get() {
+            if (section == null) {
+                EmfPropertySection<?> newSection = supplier.get();
+                Preconditions.checkState(newSection.getEClass() == eClass, "The section supplied for %s is for %s", eClass.getName(),
+                        newSection.getEClass().getName());
+                section = newSection;
+            }
+            return section;
+        }
+
+        @Override
+        public boolean select(Object toTest) {
+            EmfPropertySection<?> createdSection = section;
+            if (createdSection != null) {
+                return createdSection.select(toTest);
+            }
+            EObject eObj = EmfSelectionResolver.getSingleModelObject(toTest);
+            return (eObj != null) && (eObj.eClass() == eClass);
+        }
+
+    }
+
 }
@@ -1,32 +1,99 @@
 package org.ifml.eclipse.emf.ui.properties;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.transaction.ResourceSetChangeEvent;
+import org.eclipse.emf.transaction.ResourceSetListenerImpl;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.emf.transaction.util.TransactionUtil;
 import org.eclipse.jface.viewers.ComboViewer;
 import org.eclipse.jface.viewers.ILabelProvider;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
 
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 /**
  * A chached collection of configuration elements.
+ * <p>
+ * Combo handlers can be given a time budget: handlers exceeding it are logged once per class and feature and, if a fallback period is
+ * set, the input they computed is reused for that period for all the elements of the same class instead of invoking them again, unless
+ * a model change invalidates it as it would invalidate a cached input.
+ * <p>
+ * Combo viewer inputs can also be cached per handler, element and feature. The configuration set listens to the editing domain of
+ * each element whose input is cached: cached inputs are invalidated by model changes involving instances of the referenced types, and
+ * all of them are invalidated by containment changes and resource loads.
  */
 public final class EmfPropertyConfigurationSet {
 
+    private static final Object NO_INPUT = new Object();
+
     private final ILabelProvider featureLabelProvider;
 
+    private final long comboInputBudgetNanos;
+
+    private final long comboInputFallbackNanos;
+
+    private final ConcurrentMap<List<Object>, FallbackInput> fallbackInputs = Maps.newConcurrentMap();
+
+    private final Set<List<Object>> loggedSlowComboHandlers = Collections.newSetFromMap(Maps.<List<Object>, Boolean> newConcurrentMap());
+
+    private final Cache<List<Object>, Object> comboInputs;
+
+    private final Cache<TransactionalEditingDomain, ComboInputInvalidator> invalidators = CacheBuilder.newBuilder().weakKeys().build();
+
     private final Map<EClass, EmfPropertyConfiguration<? extends EObject>> configs;
 
+    private final IEmfPropertyComboHandler<EObject> defaultReferenceComboHandler;
+
+    private final LoadingCache<EClass, ResolvedClass> resolvedClasses = CacheBuilder.newBuilder().build(
+            new CacheLoader<EClass, ResolvedClass>() {
+                @Override
+                public ResolvedClass load(EClass eClass) {
+                    return resolve(eClass);
+                }
+            });
+
     private EmfPropertyConfigurationSet(Builder builder) {
         this.featureLabelProvider = builder.featureLabelProvider;
+        this.comboInputBudgetNanos = TimeUnit.MILLISECONDS.toNanos(builder.comboInputBudgetMillis);
+        this.comboInputFallbackNanos = TimeUnit.MILLISECONDS.toNanos(builder.comboInputFallbackMillis);
+        this.comboInputs = (builder.comboInputCacheSize > 0) ? CacheBuilder.newBuilder().maximumSize(builder.comboInputCacheSize)
+                .<List<Object>, Object> build() : null;
         this.configs = ImmutableMap.copyOf(builder.configs);
+        this.defaultReferenceComboHandler = builder.defaultReferenceComboHandler;
     }
 
     @SuppressWarnings("unchecked")
@@ -53,13 +120,7 @@ public final class EmfPropertyConfigurationSet {
      * @return {@code true} if the feature must be ignored thus not displaying in the property UI.
      */
     public boolean isFeatureToIgnore(EStructuralFeature feature, EClass eClass) {
-        for (EClass eClass2 : Iterables.concat(ImmutableList.of(eClass), eClass.getEAllSuperTypes())) {
-            EmfPropertyConfiguration<? extends EObject> config = getConfiguration(eClass2);
-            if ((config != null) && config.getFeaturesToIgnore().contains(feature)) {
-                return true;
-            }
-        }
-        return false;
+        return resolvedClasses.getUnchecked(eClass).ignoredFeatures.contains(feature);
     }
 
     /**
@@ -73,27 +134,264 @@ public final class EmfPropertyConfigurationSet {
      *            the EMF class.
      */
     public void configureComboViewer(ComboViewer comboViewer, EStructuralFeature feature, EClass eClass) {
-        for (EClass eClass2 : Iterables.concat(ImmutableList.of(eClass), eClass.getEAllSuperTypes())) {
-            if (configureComboViewer(comboViewer, feature, getConfiguration(eClass2))) {
+        List<IEmfPropertyComboHandler<? extends EObject>> comboHandlers = resolvedClasses.getUnchecked(eClass).comboHandlers.get(feature);
+        if (!comboHandlers.isEmpty()) {
+            comboHandlers.get(0).configureComboViewer(comboViewer, feature);
+        }
+    }
+
+    /**
+     * Retrieves the combo viewer input.
+     * 
+     * @param elem
+     *            the current element.
+     * @param feature
+     *            the feature.
+     * @param eClass
+     *            the EMF class.
+     * @return the combo viewer input.
+     */
+    public <T extends EObject> Object getComboViewerInput(T elem, EStructuralFeature feature, EClass eClass) {
+        return getComboViewerInput(elem, feature, eClass, 0);
+    }
+
+    /**
+     * Retrieves the combo viewer input computed by the asynchronous handler of a feature.
+     * <p>
+     * Unlike {@link #getComboViewerInput(EObject, EStructuralFeature, EClass)}, the handlers of the super-types are not invoked when
+     * the asynchronous one returns {@code null}, since they are not meant to run in background; see
+     * {@link #getInheritedComboViewerInput(EObject, EStructuralFeature, EClass)}.
+     * 
+     * @param elem
+     *            the current element.
+     * @param feature
+     *            the feature.
+     * @param eClass
+     *            the EMF class.
+     * @return the combo viewer input, or {@code null} if the feature has no asynchronous handler or if it returns {@code null}.
+     */
+    public <T extends EObject> Object getAsyncComboViewerInput(T elem, EStructuralFeature feature, EClass eClass) {
+        if (!isComboViewerInputAsync(feature, eClass)) {
+            return null;
+        }
+        IEmfPropertyComboHandler<? extends EObject> comboHandler = resolvedClasses.getUnchecked(eClass).comboHandlers.get(feature).get(0);
+        return getComboViewerInput(EmfPropertyConfigurationSet.<T> cast(comboHandler), elem, feature, eClass);
+    }
+
+    /**
+     * Retrieves the combo viewer input computed by the handlers following the most specific one, to be used when the asynchronous
+     * handler returns {@code null}.
+     * 
+     * @param elem
+     *            the current element.
+     * @param feature
+     *            the feature.
+     * @param eClass
+     *            the EMF class.
+     * @return the combo viewer input.
+     */
+    public <T extends EObject> Object getInheritedComboViewerInput(T elem, EStructuralFeature feature, EClass eClass) {
+        return getComboViewerInput(elem, feature, eClass, 1);
+    }
+
+    private <T extends EObject> Object getComboViewerInput(T elem, EStructuralFeature feature, EClass eClass, int firstHandler) {
+        List<IEmfPropertyComboHandler<? extends EObject>> comboHandlers = resolvedClasses.getUnchecked(eClass).comboHandlers.get(feature);
+        for (int i = firstHandler; i < comboHandlers.size(); i++) {
+            IEmfPropertyComboHandler<T> comboHandler = cast(comboHandlers.get(i));
+            Object comboViewerInput = getComboViewerInput(comboHandler, elem, feature, eClass);
+            if (comboViewerInput != null) {
+                return comboViewerInput;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether combo viewer inputs are cached.
+     * <p>
+     * A cached input is replaced by a new instance whenever a model change invalidates it, thus an input identical to the one already
+     * displayed by a combo viewer does not need to be set again.
+     * 
+     * @return {@code true} if the inputs returned by {@link #getComboViewerInput(EObject, EStructuralFeature, EClass)} are cached.
+     */
+    public boolean isCachingComboViewerInputs() {
+        return comboInputs != null;
+    }
+
+    private <T extends EObject> Object getComboViewerInput(IEmfPropertyComboHandler<T> comboHandler, T elem, EStructuralFeature feature,
+            EClass eClass) {
+        if (comboInputs == null) {
+            if (comboInputFallbackNanos > 0) {
+                watchEditingDomain(elem);
+            }
+            return computeComboViewerInput(comboHandler, elem, feature, eClass);
+        }
+        List<Object> key = Arrays.<Object> asList(comboHandler, elem, feature);
+        Object comboViewerInput = comboInputs.getIfPresent(key);
+        if (comboViewerInput == null) {
+            watchEditingDomain(elem);
+            comboViewerInput = computeComboViewerInput(comboHandler, elem, feature, eClass);
+            comboInputs.put(key, (comboViewerInput != null) ? comboViewerInput : NO_INPUT);
+        }
+        return (comboViewerInput != NO_INPUT) ? comboViewerInput : null;
+    }
+
+    private <T extends EObject> Object computeComboViewerInput(IEmfPropertyComboHandler<T> comboHandler, T elem,
+            EStructuralFeature feature, EClass eClass) {
+        List<Object> fallbackKey = null;
+        if (comboInputFallbackNanos > 0) {
+            // a slow handler is likely to be slow for every element of the class
+            fallbackKey = Arrays.<Object> asList(comboHandler, eClass, feature);
+            FallbackInput fallbackInput = fallbackInputs.get(fallbackKey);
+            if (fallbackInput != null) {
+                if (fallbackInput.expirationNanos - System.nanoTime() > 0) {
+                    return fallbackInput.input;
+                }
+                fallbackInputs.remove(fallbackKey, fallbackInput);
+            }
+        }
+        boolean timed = (comboInputBudgetNanos > 0) || EmfPropertyMetrics.isEnabled();
+        long startNanos = timed ? System.nanoTime() : 0;
+        Object comboViewerInput = comboHandler.getComboViewerInput(elem, feature);
+        if (timed) {
+            long endNanos = System.nanoTime();
+            EmfPropertyMetrics.getMetrics().comboInputComputed(comboHandler, feature, endNanos - startNanos);
+            if ((comboInputBudgetNanos > 0) && (endNanos - startNanos > comboInputBudgetNanos)) {
+                logSlowComboHandler(comboHandler, feature, eClass, endNanos - startNanos);
+                if ((fallbackKey != null) && (comboViewerInput != null)) {
+                    removeExpiredFallbackInputs(endNanos);
+                    fallbackInputs.put(fallbackKey, new FallbackInput(comboViewerInput, endNanos + comboInputFallbackNanos));
+                }
+            }
+        }
+        return comboViewerInput;
+    }
+
+    private void removeExpiredFallbackInputs(long nowNanos) {
+        for (Map.Entry<List<Object>, FallbackInput> entry : fallbackInputs.entrySet()) {
+            if (entry.getValue().expirationNanos - nowNanos <= 0) {
+                fallbackInputs.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private void watchEditingDomain(EObject elem) {
+        TransactionalEditingDomain editingDomain = TransactionUtil.getEditingDomain(elem);
+        if ((editingDomain != null) && (invalidators.getIfPresent(editingDomain) == null)) {
+            ComboInputInvalidator invalidator = new ComboInputInvalidator();
+            if (invalidators.asMap().putIfAbsent(editingDomain, invalidator) == null) {
+                editingDomain.addResourceSetListener(invalidator);
+            }
+        }
+    }
+
+    private void invalidateComboViewerInputs(Collection<? extends Notification> notifications) {
+        if (((comboInputs == null) || (comboInputs.size() == 0)) && fallbackInputs.isEmpty()) {
+            return;
+        }
+        Set<EClass> changedClasses = Sets.newHashSet();
+        for (Notification notification : notifications) {
+            if (isStructuralChange(notification)) {
+                // the added or removed contents may hold candidates of any type
+                fallbackInputs.clear();
+                if (comboInputs != null) {
+                    comboInputs.invalidateAll();
+                }
                 return;
             }
+            if (!notification.isTouch()) {
+                addClasses(changedClasses, notification.getNotifier());
+                addClasses(changedClasses, notification.getOldValue());
+                addClasses(changedClasses, notification.getNewValue());
+            }
+        }
+        if (changedClasses.isEmpty()) {
+            return;
+        }
+        // fallback inputs go first, otherwise a stale one would be cached again by the next lookup
+        for (List<Object> key : fallbackInputs.keySet()) {
+            if (isAffected(((EStructuralFeature) key.get(2)).getEType(), changedClasses)) {
+                fallbackInputs.remove(key);
+            }
         }
+        if (comboInputs == null) {
+            return;
+        }
+        for (List<Object> key : comboInputs.asMap().keySet()) {
+            EClassifier type = ((EStructuralFeature) key.get(2)).getEType();
+            if (isAffected(type, changedClasses)) {
+                comboInputs.invalidate(key);
+            }
+        }
+    }
+
+    private static boolean isStructuralChange(Notification notification) {
+        if ((notification.getNotifier() instanceof Resource) || (notification.getNotifier() instanceof ResourceSet)) {
+            return !notification.isTouch();
+        }
+        Object feature = notification.getFeature();
+        return (feature instanceof EReference) && ((EReference) feature).isContainment() && !notification.isTouch();
     }
 
-    private static <T extends EObject> boolean configureComboViewer(ComboViewer comboViewer, EStructuralFeature feature,
-            EmfPropertyConfiguration<T> config) {
-        if (config != null) {
-            Optional<IEmfPropertyComboHandler<T>> comboHandler = config.getComboHandler(feature);
-            if (comboHandler.isPresent()) {
-                comboHandler.get().configureComboViewer(comboViewer, feature);
-                return true;
+    private static void addClasses(Set<EClass> eClasses, Object value) {
+        if (value instanceof EObject) {
+            eClasses.add(((EObject) value).eClass());
+        } else if (value instanceof Collection<?>) {
+            for (Object elem : (Collection<?>) value) {
+                if (elem instanceof EObject) {
+                    eClasses.add(((EObject) elem).eClass());
+                }
+            }
+        }
+    }
+
+    private static boolean isAffected(EClassifier type, Set<EClass> changedClasses) {
+        if (type == EcorePackage.Literals.EOBJECT) {
+            return true;
+        }
+        if (type instanceof EClass) {
+            for (EClass changedClass : changedClasses) {
+                if (((EClass) type).isSuperTypeOf(changedClass)) {
+                    return true;
+                }
             }
         }
         return false;
     }
 
+    private void logSlowComboHandler(IEmfPropertyComboHandler<?> comboHandler, EStructuralFeature feature, EClass eClass,
+            long durationNanos) {
+        Bundle bundle = FrameworkUtil.getBundle(EmfPropertyConfigurationSet.class);
+        if (bundle == null) {
+            return;
+        }
+        // a handler exceeding its budget is likely to exceed it on every selection
+        if (!loggedSlowComboHandlers.add(Arrays.<Object> asList(comboHandler.getClass(), eClass, feature))) {
+            return;
+        }
+        String message = String.format(
+                "The combo handler %s took %d ms to compute the input of %s.%s (budget: %d ms); further overruns are not logged",
+                comboHandler.getClass().getName(), TimeUnit.NANOSECONDS.toMillis(durationNanos), eClass.getName(), feature.getName(),
+                TimeUnit.NANOSECONDS.toMillis(comboInputBudgetNanos));
+        Platform.getLog(bundle).log(new Status(IStatus.WARNING, bundle.getSymbolicName(), message));
+    }
+
     /**
-     * Retrieves the combo viewer input.
+     * Checks whether the combo viewer input of a feature must be computed in background.
+     * 
+     * @param feature
+     *            the feature.
+     * @param eClass
+     *            the EMF class.
+     * @return {@code true} if the input is provided by an {@link IEmfPropertyAsyncComboHandler}.
+     */
+    public boolean isComboViewerInputAsync(EStructuralFeature feature, EClass eClass) {
+        List<IEmfPropertyComboHandler<? extends EObject>> comboHandlers = resolvedClasses.getUnchecked(eClass).comboHandlers.get(feature);
+        return !comboHandlers.isEmpty() && (comboHandlers.get(0) instanceof IEmfPropertyAsyncComboHandler<?>);
+    }
+
+    /**
+     * Retrieves the combo viewer input to display while the actual one is computed in background.
      * 
      * @param elem
      *            the current element.
@@ -101,27 +399,98 @@ public final class EmfPropertyConfigurationSet {
      *            the feature.
      * @param eClass
      *            the EMF class.
-     * @return the combo viewer input.
+     * @return the placeholder combo viewer input.
      */
-    public <T extends EObject> Object getComboViewerInput(T elem, EStructuralFeature feature, EClass eClass) {
-        for (EClass eClass2 : Iterables.concat(ImmutableList.of(eClass), eClass.getEAllSuperTypes())) {
-            Optional<Object> comboViewerInput = getComboViewerInput(elem, feature, getConfiguration(eClass2));
-            if (comboViewerInput.isPresent()) {
-                return comboViewerInput.get();
-            }
+    public <T extends EObject> Object getPlaceholderComboViewerInput(T elem, EStructuralFeature feature, EClass eClass) {
+        List<IEmfPropertyComboHandler<? extends EObject>> comboHandlers = resolvedClasses.getUnchecked(eClass).comboHandlers.get(feature);
+        if (!comboHandlers.isEmpty() && (comboHandlers.get(0) instanceof IEmfPropertyAsyncComboHandler<?>)) {
+            IEmfPropertyComboHandler<T> comboHandler = cast(comboHandlers.get(0));
+            return ((IEmfPropertyAsyncComboHandler<T>) comboHandler).getPlaceholderComboViewerInput(elem, feature);
         }
         return null;
     }
 
-    private static <T extends EObject> Optional<Object> getComboViewerInput(T elem, EStructuralFeature feature,
-            EmfPropertyConfiguration<T> config) {
-        if (config != null) {
-            Optional<IEmfPropertyComboHandler<T>> comboHandler = config.getComboHandler(feature);
-            if (comboHandler.isPresent()) {
-                return Optional.fromNullable(comboHandler.get().getComboViewerInput(elem, feature));
+    @SuppressWarnings("unchecked")
+    private static <T extends EObject> IEmfPropertyComboHandler<T> cast(IEmfPropertyComboHandler<? extends EObject> comboHandler) {
+        return (IEmfPropertyComboHandler<T>) comboHandler;
+    }
+
+    private ResolvedClass resolve(EClass eClass) {
+        ImmutableSet.Builder<EStructuralFeature> ignoredFeatures = ImmutableSet.builder();
+        ImmutableListMultimap.Builder<EStructuralFeature, IEmfPropertyComboHandler<? extends EObject>> comboHandlers = ImmutableListMultimap
+                .builder();
+        List<EmfPropertyConfiguration<? extends EObject>> chain = Lists.newArrayList();
+        for (EClass eClass2 : Iterables.concat(ImmutableList.of(eClass), eClass.getEAllSuperTypes())) {
+            EmfPropertyConfiguration<? extends EObject> config = getConfiguration(eClass2);
+            if (config != null) {
+                ignoredFeatures.addAll(config.getFeaturesToIgnore());
+                chain.add(config);
             }
         }
-        return Optional.absent();
+        for (EStructuralFeature feature : eClass.getEAllStructuralFeatures()) {
+            for (EmfPropertyConfiguration<? extends EObject> config : chain) {
+                Optional<? extends IEmfPropertyComboHandler<? extends EObject>> comboHandler = config.getComboHandler(feature);
+                if (comboHandler.isPresent()) {
+                    comboHandlers.put(feature, comboHandler.get());
+                }
+            }
+            if ((defaultReferenceComboHandler != null) && (feature instanceof EReference) && !((EReference) feature).isContainment()) {
+                comboHandlers.put(feature, defaultReferenceComboHandler);
+            }
+        }
+        return new ResolvedClass(ignoredFeatures.build(), comboHandlers.build());
+    }
+
+    /**
+     * The configuration of a model class flattened along its super-types.
+     * <p>
+     * The combo handlers of each feature are listed from the most specific class to the most generic one.
+     */
+    private static final class ResolvedClass {
+
+        private final ImmutableSet<EStructuralFeature> ignoredFeatures;
+
+        private final ImmutableListMultimap<EStructuralFeature, IEmfPropertyComboHandler<? extends EObject>> comboHandlers;
+
+        ResolvedClass(ImmutableSet<EStructuralFeature> ignoredFeatures,
+                ImmutableListMultimap<EStructuralFeature, IEmfPropertyComboHandler<? extends EObject>> comboHandlers) {
+            this.ignoredFeatures = ignoredFeatures;
+            this.comboHandlers = comboHandlers;
+        }
+
+    }
+
+    /**
+     * Invalidates the cached combo viewer inputs after each transaction committed in an editing domain.
+     */
+    private final class ComboInputInvalidator extends ResourceSetListenerImpl {
+
+        @Override
+        public boolean isPostcommitOnly() {
+            return true;
+        }
+
+        @Override
+        public void resourceSetChanged(ResourceSetChangeEvent event) {
+            invalidateComboViewerInputs(event.getNotifications());
+        }
+
+    }
+
+    /**
+     * The last input of a combo handler which exceeded its budget, reused for the elements of its class until its expiration.
+     */
+    private static final class FallbackInput {
+
+        private final Object input;
+
+        private final long expirationNanos;
+
+        FallbackInput(Object input, long expirationNanos) {
+            this.input = input;
+            this.expirationNanos = expirationNanos;
+        }
+
     }
 
     /**
@@ -133,6 +502,14 @@ public final class EmfPropertyConfigurationSet {
 
         private final Map<EClass, EmfPropertyConfiguration<? extends EObject>> configs = Maps.newHashMap();
 
+        private long comboInputBudgetMillis;
+
+        private long comboInputFallbackMillis;
+
+        private long comboInputCacheSize;
+
+        private IEmfPropertyComboHandler<EObject> defaultReferenceComboHandler;
+
         /**
          * Adds a property configuration for a specific model class.
          * 
@@ -160,6 +537,58 @@ public final class EmfPropertyConfigurationSet {
             return this;
         }
 
+        /**
+         * Sets the time budget of combo handlers when computing a combo viewer input.
+         * <p>
+         * Handlers exceeding the budget are logged along with the class and the feature, once per handler class, model class and
+         * feature. If the fallback period is positive, the input computed by the handler is then reused during that period for the
+         * same feature of every element of the same class, without invoking the handler again; the input may thus have been computed
+         * for another element.
+         * 
+         * @param budgetMillis
+         *            the budget in milliseconds, or {@code 0} to disable the check.
+         * @param fallbackMillis
+         *            the fallback period in milliseconds, or {@code 0} to always invoke the handlers.
+         * @return this builder.
+         */
+        public Builder comboInputBudget(long budgetMillis, long fallbackMillis) {
+            Preconditions.checkArgument(budgetMillis >= 0, "Negative budget: %s", budgetMillis);
+            Preconditions.checkArgument(fallbackMillis >= 0, "Negative fallback period: %s", fallbackMillis);
+            this.comboInputBudgetMillis = budgetMillis;
+            this.comboInputFallbackMillis = fallbackMillis;
+            return this;
+        }
+
+        /**
+         * Enables the cache of combo viewer inputs, keyed by combo handler, element and feature.
+         * <p>
+         * Cached inputs are invalidated only for elements belonging to a transactional editing domain.
+         * 
+         * @param maximumSize
+         *            the maximum number of cached inputs, or {@code 0} to disable the cache.
+         * @return this builder.
+         */
+        public Builder comboInputCacheSize(long maximumSize) {
+            Preconditions.checkArgument(maximumSize >= 0, "Negative cache size: %s", maximumSize);
+            this.comboInputCacheSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Sets the combo handler of the non-containment references, queried after the handlers of the property configurations.
+         * <p>
+         * An {@link EmfReferenceCandidateComboHandler} lets every reference combo list its candidates through the maintained index of
+         * the editing domain, rather than through a scan of the resource set.
+         * 
+         * @param comboHandler
+         *            the default combo handler, or {@code null} for none.
+         * @return this builder.
+         */
+        public Builder defaultReferenceComboHandler(IEmfPropertyComboHandler<EObject> comboHandler) {
+            this.defaultReferenceComboHandler = comboHandler;
+            return this;
+        }
+
         /**
          * Builds the configuration set.
          * 
@@ -0,0 +1,77 @@
+package org.ifml.eclipse.emf.ui.properties;
+
+import org.eclipse.emf.ecore.EStructuralFeature;
+
+/**
+ * Holds the {@link IEmfPropertyMetrics} in use by property sections and configuration sets.
+ * <p>
+ * By default no metrics are recorded: callers check {@link #isEnabled()} before measuring anything.
+ */
+public final class EmfPropertyMetrics {
+
+    private static final IEmfPropertyMetrics NO_OP = new IEmfPropertyMetrics() {
+
+        @Override
+        public void refreshPerformed(long durationNanos) {
+        }
+
+        @Override
+        public void bindingCreated() {
+        }
+
+        @Override
+        public void bindingDisposed() {
+        }
+
+        @Override
+        public void observableCreated() {
+        }
+
+        @Override
+        public void observableDisposed() {
+        }
+
+        @Override
+        public void comboInputComputed(IEmfPropertyComboHandler<?> comboHandler, EStructuralFeature feature, long durationNanos) {
+        }
+
+        @Override
+        public void selectionTested(boolean resolved, boolean selected) {
+        }
+
+    };
+
+    private static volatile IEmfPropertyMetrics metrics = NO_OP;
+
+    private EmfPropertyMetrics() {
+    }
+
+    /**
+     * Returns the metrics in use.
+     * 
+     * @return the metrics, never {@code null}.
+     */
+    public static IEmfPropertyMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the metrics to use.
+     * 
+     * @param metrics
+     *            the metrics or {@code null} to stop recording.
+     */
+    public static void setMetrics(IEmfPropertyMetrics metrics) {
+        EmfPropertyMetrics.metrics = (metrics != null) ? metrics : NO_OP;
+    }
+
+    /**
+     * Checks whether metrics are recorded.
+     * 
+     * @return {@code true} if metrics are recorded.
+     */
+    public static boolean isEnabled() {
+        return metrics != NO_OP;
+    }
+
+}
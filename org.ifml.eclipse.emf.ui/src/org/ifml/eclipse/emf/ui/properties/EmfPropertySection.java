@@ -1,13 +1,23 @@
 package org.ifml.eclipse.emf.ui.properties;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.databinding.Binding;
 import org.eclipse.core.databinding.DataBindingContext;
 import org.eclipse.core.databinding.UpdateValueStrategy;
+import org.eclipse.core.databinding.observable.IObservable;
 import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.databinding.observable.value.IValueChangeListener;
+import org.eclipse.core.databinding.observable.value.ValueChangeEvent;
+import org.eclipse.core.databinding.observable.value.WritableValue;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.emf.common.command.CompoundCommand;
+import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.databinding.edit.EMFEditProperties;
 import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EClass;
@@ -15,44 +25,81 @@ import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.edit.command.SetCommand;
+import org.eclipse.emf.transaction.ResourceSetChangeEvent;
+import org.eclipse.emf.transaction.ResourceSetListener;
+import org.eclipse.emf.transaction.ResourceSetListenerImpl;
+import org.eclipse.emf.transaction.RunnableWithResult;
 import org.eclipse.emf.transaction.TransactionalEditingDomain;
 import org.eclipse.jface.databinding.swt.ISWTObservableValue;
 import org.eclipse.jface.databinding.swt.WidgetProperties;
 import org.eclipse.jface.databinding.viewers.IViewerObservableValue;
 import org.eclipse.jface.databinding.viewers.ViewerProperties;
+import org.eclipse.jface.viewers.ArrayContentProvider;
 import org.eclipse.jface.viewers.ComboViewer;
 import org.eclipse.jface.viewers.IFilter;
 import org.eclipse.jface.viewers.ISelection;
-import org.eclipse.jface.viewers.StructuredSelection;
+import org.eclipse.jface.viewers.IStructuredContentProvider;
 import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.CCombo;
+import org.eclipse.swt.events.DisposeEvent;
+import org.eclipse.swt.events.DisposeListener;
+import org.eclipse.swt.events.ModifyEvent;
+import org.eclipse.swt.events.ModifyListener;
+import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
 import org.eclipse.swt.widgets.Text;
 import org.eclipse.swt.widgets.Widget;
 import org.eclipse.ui.views.properties.tabbed.AbstractPropertySection;
 import org.eclipse.ui.views.properties.tabbed.TabbedPropertySheetPage;
 import org.ifml.eclipse.emf.ui.editparts.EditPartEmfSelections;
+import org.ifml.eclipse.emf.ui.viewers.WindowedContentProvider;
 import org.ifml.eclipse.ui.properties.FormPropertyPart;
 
+import com.google.common.base.Objects;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 
 /**
  * An abstract base class for EMF-based property sections.
  * <p>
  * Note that this property section embeds also the {@link IFilter} logic.
+ * <p>
+ * When multi-selection is enabled, the section displays the values shared by all the selected elements and applies each edit to all of
+ * them through a single compound command. Texts with the {@link EmfTextUpdatePolicy#IMMEDIATE} policy are then applied as with
+ * {@link EmfTextUpdatePolicy#ON_COMMIT}, thus typing a value results in one command rather than one per keystroke.
+ * <p>
+ * When model updates are coalesced, widgets ignore the single model notifications and are updated once after each transaction
+ * affecting the selected elements has been committed.
+ * <p>
+ * Widget and viewer observables are cached per widget and are disposed and evicted as soon as their widget is disposed.
  * 
  * @param <T>
  *            the EMF model type.
  */
 public abstract class EmfPropertySection<T extends EObject> extends AbstractPropertySection implements IFilter {
 
+    private static final int COMBO_WINDOW_SIZE = 100;
+
+    private static final String MIXED_VALUES_MESSAGE = "<multiple values>";
+
+    private static final Object NO_PENDING_VALUE = new Object();
+
     private final EClass eClass;
 
     private final Class<T> instanceClass;
@@ -63,32 +110,76 @@ public abstract class EmfPropertySection<T extends EObject> extends AbstractProp
 
     private final List<PropertyItem> items = Lists.newArrayList();
 
-    private final LoadingCache<Widget, ISWTObservableValue> widgetTextObservables = CacheBuilder.newBuilder().concurrencyLevel(1)
-            .build(new CacheLoader<Widget, ISWTObservableValue>() {
+    private static final RemovalListener<Object, IObservable> OBSERVABLE_DISPOSER = new RemovalListener<Object, IObservable>() {
+        @Override
+        public void onRemoval(RemovalNotification<Object, IObservable> notification) {
+            IObservable observable = notification.getValue();
+            if (observable != null) {
+                observable.dispose();
+                EmfPropertyMetrics.getMetrics().observableDisposed();
+            }
+        }
+    };
+
+    private final DisposeListener widgetDisposeListener = new DisposeListener() {
+        @Override
+        public void widgetDisposed(DisposeEvent e) {
+            evictObservables(e.widget);
+        }
+    };
+
+    private final LoadingCache<Widget, ISWTObservableValue> widgetTextObservables = newObservableCache().build(
+            new CacheLoader<Widget, ISWTObservableValue>() {
                 @Override
                 public ISWTObservableValue load(Widget widget) {
+                    watchDisposal(widget);
+                    EmfPropertyMetrics.getMetrics().observableCreated();
                     return WidgetProperties.text(SWT.Modify).observe(widget);
                 }
             });
 
-    private final LoadingCache<Widget, ISWTObservableValue> widgetSelectionObservables = CacheBuilder.newBuilder().concurrencyLevel(1)
-            .build(new CacheLoader<Widget, ISWTObservableValue>() {
+    private final LoadingCache<Widget, ISWTObservableValue> widgetSelectionObservables = newObservableCache().build(
+            new CacheLoader<Widget, ISWTObservableValue>() {
                 @Override
                 public ISWTObservableValue load(Widget widget) {
+                    watchDisposal(widget);
+                    EmfPropertyMetrics.getMetrics().observableCreated();
                     return WidgetProperties.selection().observe(widget);
                 }
             });
 
-    private final LoadingCache<Viewer, IViewerObservableValue> viewerSelectionObservables = CacheBuilder.newBuilder()
-            .concurrencyLevel(1).build(new CacheLoader<Viewer, IViewerObservableValue>() {
+    private final LoadingCache<Viewer, IViewerObservableValue> viewerSelectionObservables = newObservableCache().build(
+            new CacheLoader<Viewer, IViewerObservableValue>() {
                 @Override
                 public IViewerObservableValue load(Viewer viewer) {
+                    watchDisposal(viewer.getControl());
+                    EmfPropertyMetrics.getMetrics().observableCreated();
                     return ViewerProperties.singleSelection().observe(viewer);
                 }
             });
 
     private DataBindingContext dbc;
 
+    private WritableValue currentElement;
+
+    private TransactionalEditingDomain boundEditingDomain;
+
+    private volatile List<T> selectedElements = ImmutableList.of();
+
+    private int showingValuesDepth;
+
+    private final ResourceSetListener modelChangeListener = new ModelChangeListener();
+
+    private Display display;
+
+    private volatile long modelChangeStamp;
+
+    private long refreshedModelChangeStamp = -1;
+
+    private long performedRefreshCount;
+
+    private long skippedRefreshCount;
+
     private final EmfPropertyConfigurationSet configSet;
 
     /**
@@ -130,19 +221,19 @@ public abstract class EmfPropertySection<T extends EObject> extends AbstractProp
 
     @Override
     public boolean select(Object toTest) {
-        if (toTest instanceof ISelection) {
-            EObject eObj = EditPartEmfSelections.getSingleModelObject((ISelection) toTest, EObject.class);
-            return (eObj != null) && (eObj.eClass() == eClass);
-        } else {
-            EObject eObj = EditPartEmfSelections.getSingleModelObject(new StructuredSelection(toTest), EObject.class);
-            return (eObj != null) && (eObj.eClass() == eClass);
-        }
+        boolean resolved = EmfPropertyMetrics.isEnabled() && EmfSelectionResolver.isResolved(toTest);
+        EObject eObj = EmfSelectionResolver.getSingleModelObject(toTest);
+        boolean selected = (eObj != null) && (eObj.eClass() == eClass);
+        EmfPropertyMetrics.getMetrics().selectionTested(resolved, selected);
+        return selected;
     }
 
     @Override
     public final void createControls(Composite parent, TabbedPropertySheetPage aTabbedPropertySheetPage) {
         super.createControls(parent, aTabbedPropertySheetPage);
         this.dbc = new DataBindingContext();
+        this.currentElement = new WritableValue(null, instanceClass);
+        this.display = parent.getDisplay();
         FormPropertyPart formPropertyPanel = new FormPropertyPart(parent, aTabbedPropertySheetPage);
         for (EStructuralFeature feature : eClass.getEAllStructuralFeatures()) {
             if (configSet.isFeatureToIgnore(feature, eClass)) {
@@ -154,7 +245,7 @@ public abstract class EmfPropertySection<T extends EObject> extends AbstractProp
                     items.add(new SelectionPropertyItem(feature, button));
                 } else if (feature.getEType() == EcorePackage.Literals.ESTRING) {
                     Text text = formPropertyPanel.addText(configSet.getFeatureLabelProvider().getText(feature));
-                    items.add(new TextPropertyItem(feature, text, null));
+                    items.add(new TextPropertyItem(feature, text, null, getTextUpdatePolicy(feature)));
                 } else {
                     throw new UnsupportedOperationException("Feature not handled: " + feature);
                 }
@@ -182,18 +273,149 @@ public abstract class EmfPropertySection<T extends EObject> extends AbstractProp
         return ImmutableSet.of();
     }
 
+    /**
+     * Returns the policy according to which the text typed for a feature is propagated to the model.
+     * <p>
+     * The default implementation returns {@link EmfTextUpdatePolicy#IMMEDIATE}; sub-classes can override.
+     * 
+     * @param feature
+     *            the feature.
+     * @return the text update policy.
+     */
+    protected EmfTextUpdatePolicy getTextUpdatePolicy(EStructuralFeature feature) {
+        return EmfTextUpdatePolicy.IMMEDIATE;
+    }
+
+    /**
+     * Refreshes the section.
+     * <p>
+     * The property items are bound only once to detail observables of the current element, thus a selection change just moves the
+     * current element without creating new bindings. A refresh is skipped when neither the selected element nor the model changed
+     * since the last one.
+     */
     @Override
     public final void refresh() {
+        for (PropertyItem item : items) {
+            item.flushMultiEdit();
+        }
+        List<T> elems = getSelectedElements();
+        if (isUpToDate(elems)) {
+            skippedRefreshCount++;
+            return;
+        }
+        performedRefreshCount++;
+        long startNanos = EmfPropertyMetrics.isEnabled() ? System.nanoTime() : 0;
         disposeBindings();
         disposeModelObservables();
-        Optional<T> elem = getSingleSelection();
-        if (elem.isPresent()) {
+        selectedElements = elems;
+        if (elems.size() == 1) {
+            T elem = elems.get(0);
+            bindItems();
             for (PropertyItem item : items) {
-                item.refresh(elem.get());
+                item.setMixed(false);
+                item.refresh(elem);
             }
+            currentElement.setValue(elem);
+            if (isCoalescingModelUpdates()) {
+                updateTargets();
+            }
+        } else if (elems.size() > 1) {
+            bindItems();
+            // detaching the master pushes empty values into the widgets, which must not be applied to the selected elements
+            showingValuesDepth++;
+            try {
+                currentElement.setValue(null);
+                for (PropertyItem item : items) {
+                    item.refresh(elems.get(0));
+                }
+            } finally {
+                showingValuesDepth--;
+            }
+            showValues(elems);
+        } else if (currentElement != null) {
+            currentElement.setValue(null);
+        }
+        refreshedModelChangeStamp = modelChangeStamp;
+        if (startNanos != 0) {
+            EmfPropertyMetrics.getMetrics().refreshPerformed(System.nanoTime() - startNanos);
         }
     }
 
+    private void showValues(List<T> elems) {
+        for (PropertyItem item : items) {
+            item.showValues(elems);
+        }
+    }
+
+    private void updateTargets() {
+        for (PropertyItem item : items) {
+            item.updateTarget();
+        }
+    }
+
+    /**
+     * Checks whether widgets are updated once per committed transaction rather than on every model notification.
+     * <p>
+     * The default implementation returns {@code false}; sub-classes can override.
+     * 
+     * @return {@code true} if model updates are coalesced.
+     */
+    protected boolean isCoalescingModelUpdates() {
+        return false;
+    }
+
+    private UpdateValueStrategy createModelToTargetStrategy() {
+        return isCoalescingModelUpdates() ? new UpdateValueStrategy(UpdateValueStrategy.POLICY_ON_REQUEST) : null;
+    }
+
+    private List<T> getSelectedElements() {
+        if (isMultiSelectionEnabled()) {
+            List<T> elems = getMultiSelection();
+            if (elems.size() > 1) {
+                return elems;
+            }
+        }
+        Optional<T> elem = getSingleSelection();
+        return elem.isPresent() ? ImmutableList.of(elem.get()) : ImmutableList.<T> of();
+    }
+
+    private boolean isUpToDate(List<T> elems) {
+        if ((currentElement == null) || (refreshedModelChangeStamp != modelChangeStamp) || !elems.equals(selectedElements)) {
+            return false;
+        }
+        return elems.isEmpty() || (boundEditingDomain == getEditingDomain());
+    }
+
+    /**
+     * Returns the number of refreshes actually performed.
+     * 
+     * @return the number of performed refreshes.
+     */
+    public final long getPerformedRefreshCount() {
+        return performedRefreshCount;
+    }
+
+    /**
+     * Returns the number of refreshes skipped because neither the selected element nor the model changed.
+     * 
+     * @return the number of skipped refreshes.
+     */
+    public final long getSkippedRefreshCount() {
+        return skippedRefreshCount;
+    }
+
+    /**
+     * Returns the number of widget and viewer observables currently cached.
+     * 
+     * @return the number of cached observables.
+     */
+    public final long getCachedObservableCount() {
+        widgetTextObservables.cleanUp();
+        widgetSelectionObservables.cleanUp();
+        viewerSelectionObservables.cleanUp();
+        return widgetTextObservables.size() + widgetSelectionObservables.size() + viewerSelectionObservables.size();
+    }
+
     /**
      * Returns the single selected model element.
      * 
@@ -201,6 +423,47 @@ public abstract class EmfPropertySection<T extends EObject> extends AbstractProp
      */
     protected abstract Optional<T> getSingleSelection();
 
+    /**
+     * Checks whether the section edits all the elements of a multiple selection at once.
+     * <p>
+     * The default implementation returns {@code false}; sub-classes can override.
+     * 
+     * @return {@code true} if multiple selections are supported.
+     */
+    protected boolean isMultiSelectionEnabled() {
+        return false;
+    }
+
+    /**
+     * Returns the selected model elements, used when multi-selection is enabled.
+     * <p>
+     * The default implementation returns the elements of the current selection, provided that they are all instances of the EMF class
+     * of this section; sub-classes can override.
+     * 
+     * @return the list of selected model elements.
+     */
+    protected List<T> getMultiSelection() {
+        ISelection selection = getSelection();
+        if (selection == null) {
+            return ImmutableList.of();
+        }
+        List<T> elems = EditPartEmfSelections.getModelObjects(selection, instanceClass, true);
+        for (T elem : elems) {
+            if (elem.eClass() != eClass) {
+                return ImmutableList.of();
+            }
+        }
+        return elems;
+    }
+
+    private void setAll(EStructuralFeature feature, Object value) {
+        CompoundCommand command = new CompoundCommand(String.format("Set %s", feature.getName()));
+        for (T elem : selectedElements) {
+            command.append(SetCommand.create(boundEditingDomain, elem, feature, value));
+        }
+        boundEditingDomain.getCommandStack().execute(command);
+    }
+
     /**
      * Creates a binding between the structural feature of an element and the text property of a widget.
      * 
@@ -219,6 +482,7 @@ public abstract class EmfPropertySection<T extends EObject> extends AbstractProp
         ISWTObservableValue widgetObservable = widgetTextObservables.getUnchecked(widget);
         Binding binding = dbc.bindValue(widgetObservable, modelObservable, null, modelToTextStrategy);
         bindings.add(binding);
+        EmfPropertyMetrics.getMetrics().bindingCreated();
         return binding;
     }
 
@@ -237,6 +501,7 @@ public abstract class EmfPropertySection<T extends EObject> extends AbstractProp
         ISWTObservableValue widgetObservable = widgetSelectionObservables.getUnchecked(widget);
         Binding binding = dbc.bindValue(widgetObservable, modelObservable);
         bindings.add(binding);
+        EmfPropertyMetrics.getMetrics().bindingCreated();
     }
 
     /**
@@ -254,11 +519,36 @@ public abstract class EmfPropertySection<T extends EObject> extends AbstractProp
         IViewerObservableValue viewerObservable = viewerSelectionObservables.getUnchecked(comboViewer);
         Binding binding = dbc.bindValue(viewerObservable, modelObservable);
         bindings.add(binding);
+        EmfPropertyMetrics.getMetrics().bindingCreated();
+    }
+
+    private void bindItems() {
+        TransactionalEditingDomain editingDomain = getEditingDomain();
+        if (editingDomain != boundEditingDomain) {
+            unbindItems();
+            for (PropertyItem item : items) {
+                item.bind(editingDomain);
+            }
+            editingDomain.addResourceSetListener(modelChangeListener);
+            boundEditingDomain = editingDomain;
+        }
+    }
+
+    private void unbindItems() {
+        for (PropertyItem item : items) {
+            item.cancel();
+            item.unbind();
+        }
+        if (boundEditingDomain != null) {
+            boundEditingDomain.removeResourceSetListener(modelChangeListener);
+            boundEditingDomain = null;
+        }
     }
 
     private IObservableValue createModelObservable(T elem, EStructuralFeature feature) {
         IObservableValue modelObservable = EMFEditProperties.value(getEditingDomain(), feature).observe(elem);
         modelObservables.add(modelObservable);
+        EmfPropertyMetrics.getMetrics().observableCreated();
         handleModelObservable(modelObservable);
         return modelObservable;
     }
@@ -282,14 +572,20 @@ public abstract class EmfPropertySection<T extends EObject> extends AbstractProp
     public void dispose() {
         disposeBindings();
         disposeModelObservables();
+        unbindItems();
         disposeWidgetObservables();
         items.clear();
+        if (currentElement != null) {
+            currentElement.dispose();
+            currentElement = null;
+        }
         super.dispose();
     }
 
     private void disposeBindings() {
         for (Binding binding : bindings) {
             binding.dispose();
+            EmfPropertyMetrics.getMetrics().bindingDisposed();
         }
         bindings.clear();
     }
@@ -297,34 +593,100 @@ public abstract class EmfPropertySection<T extends EObject> extends AbstractProp
     private void disposeModelObservables() {
         for (IObservableValue observable : modelObservables) {
             observable.dispose();
+            EmfPropertyMetrics.getMetrics().observableDisposed();
         }
         modelObservables.clear();
     }
 
     private void disposeWidgetObservables() {
-        disposeWidgetObservables(widgetTextObservables);
-        disposeWidgetObservables(widgetSelectionObservables);
-        disposeViewerObservables(viewerSelectionObservables);
+        for (Widget widget : Iterables.concat(widgetTextObservables.asMap().keySet(), widgetSelectionObservables.asMap().keySet())) {
+            unwatchDisposal(widget);
+        }
+        for (Viewer viewer : viewerSelectionObservables.asMap().keySet()) {
+            unwatchDisposal(viewer.getControl());
+        }
+        widgetTextObservables.invalidateAll();
+        widgetSelectionObservables.invalidateAll();
+        viewerSelectionObservables.invalidateAll();
     }
 
-    private void disposeWidgetObservables(LoadingCache<Widget, ISWTObservableValue> observables) {
-        for (Map.Entry<Widget, ISWTObservableValue> entry : observables.asMap().entrySet()) {
-            ISWTObservableValue observable = entry.getValue();
-            if (observable != null) {
-                observable.dispose();
+    /**
+     * Creates a builder of observable caches disposing the evicted observables.
+     * <p>
+     * Each observable refers to its widget, thus entries are evicted by the dispose listener of the widget rather than by weak keys.
+     */
+    private static CacheBuilder<Object, IObservable> newObservableCache() {
+        return CacheBuilder.newBuilder().concurrencyLevel(1).removalListener(OBSERVABLE_DISPOSER);
+    }
+
+    private void watchDisposal(Widget widget) {
+        if ((widget != null) && !widget.isDisposed()) {
+            widget.removeDisposeListener(widgetDisposeListener);
+            widget.addDisposeListener(widgetDisposeListener);
+        }
+    }
+
+    private void unwatchDisposal(Widget widget) {
+        if ((widget != null) && !widget.isDisposed()) {
+            widget.removeDisposeListener(widgetDisposeListener);
+        }
+    }
+
+    private void evictObservables(Widget widget) {
+        widgetTextObservables.invalidate(widget);
+        widgetSelectionObservables.invalidate(widget);
+        for (Viewer viewer : viewerSelectionObservables.asMap().keySet()) {
+            if (viewer.getControl() == widget) {
+                viewerSelectionObservables.invalidate(viewer);
             }
         }
-        observables.invalidateAll();
     }
 
-    private void disposeViewerObservables(LoadingCache<Viewer, IViewerObservableValue> observables) {
-        for (Map.Entry<Viewer, IViewerObservableValue> entry : observables.asMap().entrySet()) {
-            IViewerObservableValue observable = entry.getValue();
-            if (observable != null) {
-                observable.dispose();
+    /**
+     * Tracks model changes and, after each commit affecting the selected elements, updates the widgets when needed.
+     */
+    private final class ModelChangeListener extends ResourceSetListenerImpl {
+
+        private final Runnable update = new Runnable() {
+            @Override
+            public void run() {
+                List<T> elems = selectedElements;
+                if ((boundEditingDomain == null) || display.isDisposed()) {
+                    return;
+                }
+                if (elems.size() > 1) {
+                    showValues(elems);
+                } else if ((elems.size() == 1) && isCoalescingModelUpdates()) {
+                    updateTargets();
+                }
             }
+        };
+
+        @Override
+        public boolean isPostcommitOnly() {
+            return true;
         }
-        observables.invalidateAll();
+
+        @Override
+        public void resourceSetChanged(ResourceSetChangeEvent event) {
+            modelChangeStamp++;
+            List<T> elems = selectedElements;
+            if ((elems.size() > 1) || ((elems.size() == 1) && isCoalescingModelUpdates())) {
+                Collection<?> notifiers = (elems.size() > 1) ? ImmutableSet.copyOf(elems) : elems;
+                for (Notification notification : event.getNotifications()) {
+                    if (notifiers.contains(notification.getNotifier())) {
+                        if (Display.getCurrent() == display) {
+                            update.run();
+                        } else if (!display.isDisposed()) {
+                            // transactions may be committed in background while the workbench shuts down
+                            display.asyncExec(update);
+                        }
+                        return;
+                    }
+                }
+            }
+        }
+
     }
 
     private abstract class PropertyItem {
@@ -333,6 +695,28 @@ public abstract class EmfPropertySection<T extends EObject> extends AbstractProp
 
         private final Widget widget;
 
+        private IObservableValue modelObservable;
+
+        private Binding binding;
+
+        private IObservableValue targetObservable;
+
+        private Object pendingMultiEditValue = NO_PENDING_VALUE;
+
+        private final IValueChangeListener multiEditListener = new IValueChangeListener() {
+            @Override
+            public void handleValueChange(ValueChangeEvent event) {
+                if ((showingValuesDepth == 0) && !isUpdatingWidget() && (selectedElements.size() > 1)) {
+                    setMixed(false);
+                    if (isDeferringMultiEdit()) {
+                        pendingMultiEditValue = event.diff.getNewValue();
+                    } else {
+                        setAll(feature, event.diff.getNewValue());
+                    }
+                }
+            }
+        };
+
         PropertyItem(EStructuralFeature feature, Widget widget) {
             this.feature = feature;
             this.widget = widget;
@@ -346,7 +730,159 @@ public abstract class EmfPropertySection<T extends EObject> extends AbstractProp
             return widget;
         }
 
-        protected abstract void refresh(T elem);
+        protected final Binding getBinding() {
+            return binding;
+        }
+
+        final void bind(TransactionalEditingDomain editingDomain) {
+            modelObservable = EMFEditProperties.value(editingDomain, feature).observeDetail(currentElement);
+            handleModelObservable(modelObservable);
+            targetObservable = getTargetObservable();
+            binding = createBinding(modelObservable);
+            EmfPropertyMetrics.getMetrics().observableCreated();
+            EmfPropertyMetrics.getMetrics().bindingCreated();
+            targetObservable.addValueChangeListener(multiEditListener);
+        }
+
+        final void unbind() {
+            if (binding != null) {
+                // the widget may be already disposed, thus its observable must not be looked up again
+                targetObservable.removeValueChangeListener(multiEditListener);
+                targetObservable = null;
+                binding.dispose();
+                binding = null;
+                EmfPropertyMetrics.getMetrics().bindingDisposed();
+            }
+            if (modelObservable != null) {
+                modelObservable.dispose();
+                modelObservable = null;
+                EmfPropertyMetrics.getMetrics().observableDisposed();
+            }
+        }
+
+        /**
+         * Binds the widget to the detail observable of the current element.
+         * 
+         * @param modelObservable
+         *            the detail observable.
+         * @return the binding.
+         */
+        protected abstract Binding createBinding(IObservableValue modelObservable);
+
+        /**
+         * Invoked before the current element is moved to {@code elem}.
+         * 
+         * @param elem
+         *            the element about to become the current one.
+         */
+        protected void refresh(T elem) {
+        }
+
+        /**
+         * Cancels any pending background work.
+         */
+        protected void cancel() {
+        }
+
+        /**
+         * Returns the widget observable bound to the model.
+         * 
+         * @return the target observable.
+         */
+        protected abstract IObservableValue getTargetObservable();
+
+        /**
+         * Checks whether the widget is being changed programmatically.
+         * 
+         * @return {@code true} if widget changes must not be propagated.
+         */
+        protected boolean isUpdatingWidget() {
+            return false;
+        }
+
+        /**
+         * Updates the widget from the model, unless it already displays the model value.
+         */
+        final void updateTarget() {
+            if ((binding == null) || widget.isDisposed()) {
+                return;
+            }
+            if (!Objects.equal(modelObservable.getValue(), targetObservable.getValue())) {
+                binding.updateModelToTarget();
+            }
+        }
+
+        /**
+         * Checks whether the edits of multiple selected elements are applied only by {@link #flushMultiEdit()}.
+         * <p>
+         * The default implementation returns {@code false}, thus each widget change is applied at once.
+         * 
+         * @return {@code true} if edits are deferred.
+         */
+        protected boolean isDeferringMultiEdit() {
+            return false;
+        }
+
+        /**
+         * Applies the pending edit, if any, to all the selected elements.
+         */
+        final void flushMultiEdit() {
+            if (pendingMultiEditValue != NO_PENDING_VALUE) {
+                Object value = pendingMultiEditValue;
+                pendingMultiEditValue = NO_PENDING_VALUE;
+                if ((binding != null) && (selectedElements.size() > 1)) {
+                    setAll(feature, value);
+                }
+            }
+        }
+
+        /**
+         * Displays the value shared by several elements, or marks the values as mixed.
+         * 
+         * @param elems
+         *            the selected elements.
+         */
+        final void showValues(List<T> elems) {
+            if ((binding == null) || widget.isDisposed()) {
+                return;
+            }
+            showingValuesDepth++;
+            try {
+                doShowValues(elems);
+            } finally {
+                showingValuesDepth--;
+            }
+        }
+
+        private void doShowValues(List<T> elems) {
+            if (pendingMultiEditValue != NO_PENDING_VALUE) {
+                // the widget displays the edit not yet applied
+                return;
+            }
+            Object value = elems.get(0).eGet(feature);
+            boolean mixed = false;
+            for (T elem : elems) {
+                if (!Objects.equal(value, elem.eGet(feature))) {
+                    mixed = true;
+                    break;
+                }
+            }
+            Object targetValue = mixed ? null : value;
+            if (!Objects.equal(targetValue, targetObservable.getValue())) {
+                // setting an unchanged text would reset the caret
+                targetObservable.setValue(targetValue);
+            }
+            setMixed(mixed);
+        }
+
+        /**
+         * Marks the widget as displaying mixed values.
+         * 
+         * @param mixed
+         *            {@code true} if the selected elements have different values.
+         */
+        protected void setMixed(boolean mixed) {
+        }
 
         @Override
         public String toString() {
@@ -362,8 +898,18 @@ public abstract class EmfPropertySection<T extends EObject> extends AbstractProp
         }
 
         @Override
-        protected void refresh(T elem) {
-            bindSelection(elem, getFeature(), getWidget());
+        protected Binding createBinding(IObservableValue modelObservable) {
+            return dbc.bindValue(getTargetObservable(), modelObservable, null, createModelToTargetStrategy());
+        }
+
+        @Override
+        protected IObservableValue getTargetObservable() {
+            return widgetSelectionObservables.getUnchecked(getWidget());
+        }
+
+        @Override
+        protected void setMixed(boolean mixed) {
+            ((Button) getWidget()).setGrayed(mixed);
         }
 
     }
@@ -372,14 +918,49 @@ public abstract class EmfPropertySection<T extends EObject> extends AbstractProp
 
         private final UpdateValueStrategy modelToTextStrategy;
 
-        TextPropertyItem(EStructuralFeature feature, Widget widget, UpdateValueStrategy modelToTextStrategy) {
+        private final boolean immediate;
+
+        TextPropertyItem(EStructuralFeature feature, Widget widget, UpdateValueStrategy modelToTextStrategy,
+                EmfTextUpdatePolicy updatePolicy) {
             super(feature, widget);
             this.modelToTextStrategy = modelToTextStrategy;
+            this.immediate = (updatePolicy == EmfTextUpdatePolicy.IMMEDIATE);
+            if (!immediate) {
+                watchDisposal(widget);
+                widgetTextObservables.put(widget, updatePolicy.observe(widget));
+                EmfPropertyMetrics.getMetrics().observableCreated();
+            } else {
+                // multiple selected elements are edited on commit, as with ON_COMMIT, rather than once per keystroke
+                Listener commitListener = new Listener() {
+                    @Override
+                    public void handleEvent(Event event) {
+                        flushMultiEdit();
+                    }
+                };
+                widget.addListener(SWT.FocusOut, commitListener);
+                widget.addListener(SWT.DefaultSelection, commitListener);
+            }
         }
 
         @Override
-        protected void refresh(T elem) {
-            bindText(elem, getFeature(), getWidget(), modelToTextStrategy);
+        protected boolean isDeferringMultiEdit() {
+            return immediate;
+        }
+
+        @Override
+        protected Binding createBinding(IObservableValue modelObservable) {
+            UpdateValueStrategy strategy = (modelToTextStrategy != null) ? modelToTextStrategy : createModelToTargetStrategy();
+            return dbc.bindValue(getTargetObservable(), modelObservable, null, strategy);
+        }
+
+        @Override
+        protected IObservableValue getTargetObservable() {
+            return widgetTextObservables.getUnchecked(getWidget());
+        }
+
+        @Override
+        protected void setMixed(boolean mixed) {
+            ((Text) getWidget()).setMessage(mixed ? MIXED_VALUES_MESSAGE : "");
         }
 
     }
@@ -388,17 +969,238 @@ public abstract class EmfPropertySection<T extends EObject> extends AbstractProp
 
         private final ComboViewer viewer;
 
+        private final WindowedContentProvider windowedContentProvider;
+
+        private boolean settingInput;
+
+        private Job pendingInputJob;
+
+        private long inputModelChangeStamp = -1;
+
         public ComboPropertyItem(EStructuralFeature feature, ComboViewer viewer) {
             super(feature, viewer.getControl());
             this.viewer = viewer;
+            this.windowedContentProvider = createWindowedContentProvider();
+        }
+
+        private WindowedContentProvider createWindowedContentProvider() {
+            final CCombo combo = viewer.getCCombo();
+            if (combo == null) {
+                return null;
+            }
+            final WindowedContentProvider contentProvider;
+            if (viewer.getContentProvider() instanceof WindowedContentProvider) {
+                contentProvider = (WindowedContentProvider) viewer.getContentProvider();
+            } else if (viewer.getContentProvider() instanceof ArrayContentProvider) {
+                // replacing a provider disposes it, which is harmless only for the stateless array provider
+                contentProvider = new WindowedContentProvider((IStructuredContentProvider) viewer.getContentProvider(), COMBO_WINDOW_SIZE);
+                viewer.setContentProvider(contentProvider);
+            } else {
+                return null;
+            }
+            combo.addModifyListener(new ModifyListener() {
+                @Override
+                public void modifyText(ModifyEvent e) {
+                    if (combo.getEditable() && !settingInput && !isShowingItem(combo)) {
+                        filter(combo);
+                    }
+                }
+            });
+            return contentProvider;
+        }
+
+        @Override
+        protected Binding createBinding(IObservableValue modelObservable) {
+            if (windowedContentProvider != null) {
+                modelObservable.addValueChangeListener(new IValueChangeListener() {
+                    @Override
+                    public void handleValueChange(ValueChangeEvent event) {
+                        windowedContentProvider.setPinned(event.diff.getNewValue());
+                        if (windowedContentProvider.isWindowed()) {
+                            refreshViewer();
+                        }
+                    }
+                });
+            }
+            UpdateValueStrategy comboToModelStrategy = new UpdateValueStrategy() {
+                @Override
+                protected IStatus doSet(IObservableValue observableValue, Object value) {
+                    if (settingInput) {
+                        // a selection lost while changing the input must not reach the model
+                        return Status.OK_STATUS;
+                    }
+                    return super.doSet(observableValue, value);
+                }
+            };
+            return dbc.bindValue(getTargetObservable(), modelObservable, comboToModelStrategy, createModelToTargetStrategy());
+        }
+
+        @Override
+        protected IObservableValue getTargetObservable() {
+            return viewerSelectionObservables.getUnchecked(viewer);
+        }
+
+        @Override
+        protected boolean isUpdatingWidget() {
+            return settingInput;
+        }
+
+        @Override
+        protected void setMixed(boolean mixed) {
+            CCombo combo = viewer.getCCombo();
+            if ((combo == null) || (mixed == MIXED_VALUES_MESSAGE.equals(combo.getText()))) {
+                return;
+            }
+            if (!mixed && (combo.getSelectionIndex() >= 0)) {
+                // the combo already displays the selected item
+                return;
+            }
+            // the marker is not typed text, thus it must not filter the items
+            settingInput = true;
+            try {
+                combo.setText(mixed ? MIXED_VALUES_MESSAGE : "");
+            } finally {
+                settingInput = false;
+            }
         }
 
         @Override
         protected void refresh(T elem) {
+            cancel();
             if (viewer.getContentProvider() != null) {
-                viewer.setInput(configSet.getComboViewerInput(elem, getFeature(), eClass));
+                if (configSet.isComboViewerInputAsync(getFeature(), eClass)) {
+                    applyInput(elem, configSet.getPlaceholderComboViewerInput(elem, getFeature(), eClass), false);
+                    pendingInputJob = new ComboInputJob(elem, boundEditingDomain);
+                    pendingInputJob.schedule();
+                } else {
+                    applyInput(elem, configSet.getComboViewerInput(elem, getFeature(), eClass), configSet.isCachingComboViewerInputs());
+                }
+            }
+        }
+
+        @Override
+        protected void cancel() {
+            if (pendingInputJob != null) {
+                pendingInputJob.cancel();
+                pendingInputJob = null;
+            }
+        }
+
+        /**
+         * Applies a combo input, unless the combo already displays it.
+         * <p>
+         * A cached input is replaced by the configuration set when model changes invalidate it, thus an identical one is up to date;
+         * an uncached one may be a live list whose contents changed, thus it is set again after any model change.
+         */
+        private void applyInput(T elem, Object input, boolean cached) {
+            if (windowedContentProvider != null) {
+                windowedContentProvider.setPinned(elem.eGet(getFeature()));
+            }
+            if ((input != viewer.getInput()) || (!cached && (inputModelChangeStamp != modelChangeStamp))) {
+                settingInput = true;
+                try {
+                    viewer.setInput(input);
+                } finally {
+                    settingInput = false;
+                }
+                inputModelChangeStamp = modelChangeStamp;
+            } else if ((windowedContentProvider != null) && windowedContentProvider.isWindowed()) {
+                // the same input, but the pinned value may have moved the window
+                refreshViewer();
+            }
+            if (windowedContentProvider != null) {
+                viewer.getCCombo().setEditable(windowedContentProvider.isWindowed());
+            }
+            if (currentElement.getValue() == elem) {
+                getBinding().updateModelToTarget();
+            } else {
+                List<T> elems = selectedElements;
+                if ((elems.size() > 1) && (elems.get(0) == elem)) {
+                    // the new input cleared the combo, which must display the shared value again
+                    showValues(elems);
+                }
+            }
+        }
+
+        private void refreshViewer() {
+            settingInput = true;
+            try {
+                viewer.refresh();
+            } finally {
+                settingInput = false;
             }
-            bindCombo(elem, getFeature(), viewer);
+        }
+
+        /**
+         * Checks whether the combo text is the label of the selected item, as after a keyboard navigation, rather than typed text.
+         */
+        private boolean isShowingItem(CCombo combo) {
+            int selectionIndex = combo.getSelectionIndex();
+            return (selectionIndex >= 0) && combo.getItem(selectionIndex).equals(combo.getText());
+        }
+
+        private void filter(CCombo combo) {
+            String text = combo.getText();
+            if (text.equals(windowedContentProvider.getFilter())) {
+                return;
+            }
+            windowedContentProvider.setFilter(text);
+            Point textSelection = combo.getSelection();
+            refreshViewer();
+            combo.setText(text);
+            combo.setSelection(textSelection);
+            combo.setListVisible(true);
+        }
+
+        /**
+         * Computes the combo input of the asynchronous handler in a read-only transaction, then applies it in the UI thread unless a newer
+         * refresh occurred.
+         */
+        private final class ComboInputJob extends Job {
+
+            private final T elem;
+
+            private final TransactionalEditingDomain editingDomain;
+
+            ComboInputJob(T elem, TransactionalEditingDomain editingDomain) {
+                super(String.format("Computing %s candidates", getFeature().getName()));
+                this.elem = elem;
+                this.editingDomain = editingDomain;
+                setSystem(true);
+            }
+
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                final Object input;
+                try {
+                    input = editingDomain.runExclusive(new RunnableWithResult.Impl<Object>() {
+                        @Override
+                        public void run() {
+                            setResult(configSet.getAsyncComboViewerInput(elem, getFeature(), eClass));
+                        }
+                    });
+                } catch (InterruptedException e) {
+                    return Status.CANCEL_STATUS;
+                }
+                Control control = viewer.getControl();
+                if (monitor.isCanceled() || control.isDisposed()) {
+                    return Status.CANCEL_STATUS;
+                }
+                control.getDisplay().asyncExec(new Runnable() {
+                    @Override
+                    public void run() {
+                        if ((pendingInputJob == ComboInputJob.this) && !viewer.getControl().isDisposed()) {
+                            pendingInputJob = null;
+                            // the handlers of the super-types are not meant to run in background
+                            Object comboInput = (input != null) ? input
+                                    : configSet.getInheritedComboViewerInput(elem, getFeature(), eClass);
+                            applyInput(elem, comboInput, configSet.isCachingComboViewerInputs());
+                        }
+                    }
+                });
+                return Status.OK_STATUS;
+            }
+
         }
 
     }
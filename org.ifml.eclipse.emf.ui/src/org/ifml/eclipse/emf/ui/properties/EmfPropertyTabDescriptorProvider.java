@@ -0,0 +1,72 @@
+package org.ifml.eclipse.emf.ui.properties;
+
+import java.util.List;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.jface.viewers.ISelection;
+import org.eclipse.ui.IWorkbenchPart;
+import org.eclipse.ui.views.properties.tabbed.ITabDescriptor;
+import org.eclipse.ui.views.properties.tabbed.ITabDescriptorProvider;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Lists;
+
+/**
+ * An abstract base class for tab descriptor providers dispatching the sections of EMF-based tabs by model class.
+ * <p>
+ * When a single model element is selected, each tab is returned with the sections indexed under the class of the element only, thus
+ * the framework tests a single section per tab rather than all of them. Other selections get the tabs with all their sections.
+ * <p>
+ * Dispatch by class is effective only for editors registering a sub-class as the {@code tabDescriptorProvider} of their property
+ * contributor: tab descriptors registered through the {@code propertyTabs} extension point are still tested section by section.
+ */
+public abstract class EmfPropertyTabDescriptorProvider implements ITabDescriptorProvider {
+
+    private final Supplier<List<AbstractEmfPropertyTabDescriptor>> tabDescriptors = Suppliers
+            .memoize(new Supplier<List<AbstractEmfPropertyTabDescriptor>>() {
+                @Override
+                public List<AbstractEmfPropertyTabDescriptor> get() {
+                    return createTabDescriptors();
+                }
+            });
+
+    private final LoadingCache<EClass, ITabDescriptor[]> tabDescriptorsByEClass = CacheBuilder.newBuilder().build(
+            new CacheLoader<EClass, ITabDescriptor[]>() {
+                @Override
+                public ITabDescriptor[] load(EClass eClass) {
+                    List<ITabDescriptor> result = Lists.newArrayList();
+                    for (AbstractEmfPropertyTabDescriptor tabDescriptor : tabDescriptors.get()) {
+                        ITabDescriptor eClassTabDescriptor = tabDescriptor.getTabDescriptor(eClass);
+                        if (eClassTabDescriptor != null) {
+                            result.add(eClassTabDescriptor);
+                        }
+                    }
+                    return result.toArray(new ITabDescriptor[result.size()]);
+                }
+            });
+
+    @Override
+    public ITabDescriptor[] getTabDescriptors(IWorkbenchPart part, ISelection selection) {
+        EObject eObj = (selection != null) ? EmfSelectionResolver.getSingleModelObject(selection) : null;
+        if (eObj != null) {
+            return tabDescriptorsByEClass.getUnchecked(eObj.eClass());
+        }
+        List<AbstractEmfPropertyTabDescriptor> allTabDescriptors = tabDescriptors.get();
+        return allTabDescriptors.toArray(new ITabDescriptor[allTabDescriptors.size()]);
+    }
+
+    /**
+     * Creates the list of tab descriptors.
+     * <p>
+     * The method is invoked once, when tabs are first requested.
+     * 
+     * @return the list of tab descriptors.
+     */
+    protected abstract List<AbstractEmfPropertyTabDescriptor> createTabDescriptors();
+
+}
@@ -0,0 +1,69 @@
+package org.ifml.eclipse.emf.ui.properties;
+
+import java.util.List;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.transaction.RunnableWithResult;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.emf.transaction.util.TransactionUtil;
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.ComboViewer;
+import org.eclipse.jface.viewers.ILabelProvider;
+
+import com.google.common.base.Supplier;
+
+/**
+ * A combo handler listing the candidates of a non-containment reference through the {@link EmfReferenceCandidateIndex} of the editing
+ * domain.
+ * <p>
+ * The handler can be returned by a property configuration for specific references, or registered for all the references through
+ * {@link EmfPropertyConfigurationSet.Builder#defaultReferenceComboHandler(IEmfPropertyComboHandler)}. Elements not belonging to a
+ * transactional editing domain get no input, thus the next handler is queried.
+ * 
+ * @param <T>
+ *            the model type.
+ */
+public final class EmfReferenceCandidateComboHandler<T extends EObject> implements IEmfPropertyComboHandler<T> {
+
+    private final Supplier<? extends ILabelProvider> labelProviderSupplier;
+
+    /**
+     * Constructs a new combo handler.
+     * 
+     * @param labelProviderSupplier
+     *            the supplier of the label provider of each combo viewer; each viewer disposes its label provider along with its control.
+     */
+    public EmfReferenceCandidateComboHandler(Supplier<? extends ILabelProvider> labelProviderSupplier) {
+        this.labelProviderSupplier = labelProviderSupplier;
+    }
+
+    @Override
+    public void configureComboViewer(ComboViewer comboViewer, EStructuralFeature feature) {
+        comboViewer.setContentProvider(ArrayContentProvider.getInstance());
+        comboViewer.setLabelProvider(labelProviderSupplier.get());
+    }
+
+    @Override
+    public Object getComboViewerInput(T elem, final EStructuralFeature feature) {
+        TransactionalEditingDomain editingDomain = TransactionUtil.getEditingDomain(elem);
+        if (!(feature instanceof EReference) || (editingDomain == null)) {
+            return null;
+        }
+        final EmfReferenceCandidateIndex index = EmfReferenceCandidateIndex.forEditingDomain(editingDomain);
+        try {
+            // the first retrieval builds the index, which must be done in a transaction
+            return editingDomain.runExclusive(new RunnableWithResult.Impl<List<EObject>>() {
+                @Override
+                public void run() {
+                    setResult(index.getCandidates((EReference) feature));
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+}
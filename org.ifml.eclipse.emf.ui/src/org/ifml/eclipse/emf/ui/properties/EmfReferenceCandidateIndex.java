@@ -0,0 +1,310 @@
+package org.ifml.eclipse.emf.ui.properties;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.transaction.NotificationFilter;
+import org.eclipse.emf.transaction.ResourceSetChangeEvent;
+import org.eclipse.emf.transaction.ResourceSetListenerImpl;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * An index of the model elements contained in the resource set of an editing domain, grouped by their class.
+ * <p>
+ * The index is built once and then kept up to date from the notifications of committed transactions, thus combo handlers can retrieve
+ * the candidates of a reference without scanning the whole resource set; see {@link EmfReferenceCandidateComboHandler}.
+ */
+public final class EmfReferenceCandidateIndex {
+
+    private final ResourceSet resourceSet;
+
+    private final Listener listener = new Listener();
+
+    private final Holder holder = new Holder();
+
+    private final Map<EClass, Set<EObject>> instances = Maps.newHashMap();
+
+    private final Map<EClass, List<EObject>> candidatesByType = Maps.newHashMap();
+
+    private boolean valid;
+
+    private EmfReferenceCandidateIndex(TransactionalEditingDomain editingDomain) {
+        this.resourceSet = editingDomain.getResourceSet();
+        editingDomain.addResourceSetListener(listener);
+    }
+
+    /**
+     * Returns the index of an editing domain, creating it if needed.
+     * <p>
+     * The index is attached to the resource set of the editing domain as an adapter, thus it is discarded together with the resource set.
+     * 
+     * @param editingDomain
+     *            the editing domain.
+     * @return the index.
+     */
+    public static EmfReferenceCandidateIndex forEditingDomain(TransactionalEditingDomain editingDomain) {
+        ResourceSet resourceSet = editingDomain.getResourceSet();
+        synchronized (resourceSet) {
+            EmfReferenceCandidateIndex index = getExistingIndex(resourceSet);
+            if (index == null) {
+                index = new EmfReferenceCandidateIndex(editingDomain);
+                resourceSet.eAdapters().add(index.holder);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Discards the index of an editing domain, if any.
+     * 
+     * @param editingDomain
+     *            the editing domain.
+     */
+    public static void dispose(TransactionalEditingDomain editingDomain) {
+        ResourceSet resourceSet = editingDomain.getResourceSet();
+        synchronized (resourceSet) {
+            EmfReferenceCandidateIndex index = getExistingIndex(resourceSet);
+            if (index != null) {
+                editingDomain.removeResourceSetListener(index.listener);
+                resourceSet.eAdapters().remove(index.holder);
+            }
+        }
+    }
+
+    private static EmfReferenceCandidateIndex getExistingIndex(ResourceSet resourceSet) {
+        Adapter adapter = EcoreUtil.getExistingAdapter(resourceSet, EmfReferenceCandidateIndex.class);
+        return (adapter instanceof Holder) ? ((Holder) adapter).getIndex() : null;
+    }
+
+    /**
+     * Returns the candidate values of a reference.
+     * 
+     * @param reference
+     *            the reference.
+     * @return the elements which are instances of the reference type.
+     */
+    public List<EObject> getCandidates(EReference reference) {
+        return getCandidates(reference.getEReferenceType());
+    }
+
+    /**
+     * Returns the elements which are instances of a class.
+     * <p>
+     * The first invocation builds the index, thus it must be performed in a transaction of the editing domain. The same list is
+     * returned for a class until the contents of the resource set change.
+     * 
+     * @param type
+     *            the class.
+     * @return the instances of {@code type} and of its sub-classes.
+     */
+    public synchronized List<EObject> getCandidates(EClass type) {
+        if (!valid) {
+            rebuild();
+        }
+        List<EObject> candidates = candidatesByType.get(type);
+        if (candidates == null) {
+            boolean anyType = (type == EcorePackage.Literals.EOBJECT);
+            ImmutableList.Builder<EObject> builder = ImmutableList.builder();
+            for (Map.Entry<EClass, Set<EObject>> entry : instances.entrySet()) {
+                EClass eClass = entry.getKey();
+                if (anyType || (eClass == type) || type.isSuperTypeOf(eClass)) {
+                    builder.addAll(entry.getValue());
+                }
+            }
+            candidates = builder.build();
+            candidatesByType.put(type, candidates);
+        }
+        return candidates;
+    }
+
+    /**
+     * Returns the number of indexed elements.
+     * <p>
+     * The index is built by the first retrieval of candidates, thus the size is zero until then.
+     * 
+     * @return the number of elements.
+     */
+    public synchronized int size() {
+        if (!valid) {
+            return 0;
+        }
+        int size = 0;
+        for (Set<EObject> classInstances : instances.values()) {
+            size += classInstances.size();
+        }
+        return size;
+    }
+
+    private void rebuild() {
+        instances.clear();
+        candidatesByType.clear();
+        for (Iterator<?> i = EcoreUtil.getAllContents(resourceSet, false); i.hasNext();) {
+            Object obj = i.next();
+            if (obj instanceof EObject) {
+                add((EObject) obj);
+            }
+        }
+        valid = true;
+    }
+
+    private void add(EObject eObj) {
+        if (eObj.eIsProxy()) {
+            return;
+        }
+        Set<EObject> classInstances = instances.get(eObj.eClass());
+        if (classInstances == null) {
+            classInstances = Sets.newLinkedHashSet();
+            instances.put(eObj.eClass(), classInstances);
+        }
+        classInstances.add(eObj);
+    }
+
+    private void remove(EObject eObj) {
+        Set<EObject> classInstances = instances.get(eObj.eClass());
+        if (classInstances != null) {
+            classInstances.remove(eObj);
+        }
+    }
+
+    private boolean isIndexed(EObject eObj) {
+        Resource resource = eObj.eResource();
+        return (resource != null) && (resource.getResourceSet() == resourceSet);
+    }
+
+    private synchronized void update(List<Notification> notifications) {
+        if (!valid) {
+            return;
+        }
+        List<Object> added = Lists.newArrayList();
+        List<Object> removed = Lists.newArrayList();
+        for (Notification notification : notifications) {
+            Object notifier = notification.getNotifier();
+            if (notifier instanceof ResourceSet) {
+                if (notification.getFeatureID(ResourceSet.class) == ResourceSet.RESOURCE_SET__RESOURCES) {
+                    collect(notification, added, removed);
+                }
+            } else if (notifier instanceof Resource) {
+                int featureID = notification.getFeatureID(Resource.class);
+                if (featureID == Resource.RESOURCE__CONTENTS) {
+                    collect(notification, added, removed);
+                } else if (featureID == Resource.RESOURCE__IS_LOADED) {
+                    valid = false;
+                    candidatesByType.clear();
+                    return;
+                }
+            } else if ((notification.getFeature() instanceof EReference) && ((EReference) notification.getFeature()).isContainment()) {
+                collect(notification, added, removed);
+            }
+        }
+        if (!added.isEmpty() || !removed.isEmpty()) {
+            candidatesByType.clear();
+        }
+        for (Object obj : removed) {
+            updateTree(obj, false);
+        }
+        for (Object obj : added) {
+            updateTree(obj, true);
+        }
+    }
+
+    private static void collect(Notification notification, List<Object> added, List<Object> removed) {
+        switch (notification.getEventType()) {
+        case Notification.ADD:
+            added.add(notification.getNewValue());
+            break;
+        case Notification.ADD_MANY:
+            added.addAll((Collection<?>) notification.getNewValue());
+            break;
+        case Notification.REMOVE:
+            removed.add(notification.getOldValue());
+            break;
+        case Notification.REMOVE_MANY:
+            removed.addAll((Collection<?>) notification.getOldValue());
+            break;
+        case Notification.SET:
+        case Notification.UNSET:
+            removed.add(notification.getOldValue());
+            added.add(notification.getNewValue());
+            break;
+        default:
+            break;
+        }
+    }
+
+    private void updateTree(Object obj, boolean added) {
+        if (obj instanceof Resource) {
+            for (EObject root : ((Resource) obj).getContents()) {
+                updateTree(root, added);
+            }
+        } else if (obj instanceof EObject) {
+            EObject eObj = (EObject) obj;
+            if (isIndexed(eObj) != added) {
+                // moved within the resource set, or removed again in the same transaction
+                return;
+            }
+            for (Iterator<?> i = EcoreUtil.getAllContents(eObj, false); i.hasNext();) {
+                Object child = i.next();
+                if (added) {
+                    add((EObject) child);
+                } else {
+                    remove((EObject) child);
+                }
+            }
+            if (added) {
+                add(eObj);
+            } else {
+                remove(eObj);
+            }
+        }
+    }
+
+    private final class Holder extends AdapterImpl {
+
+        EmfReferenceCandidateIndex getIndex() {
+            return EmfReferenceCandidateIndex.this;
+        }
+
+        @Override
+        public boolean isAdapterForType(Object type) {
+            return type == EmfReferenceCandidateIndex.class;
+        }
+
+    }
+
+    private final class Listener extends ResourceSetListenerImpl {
+
+        Listener() {
+            super(NotificationFilter.NOT_TOUCH);
+        }
+
+        @Override
+        public boolean isPostcommitOnly() {
+            return true;
+        }
+
+        @Override
+        public void resourceSetChanged(ResourceSetChangeEvent event) {
+            update(event.getNotifications());
+        }
+
+    }
+
+}
@@ -0,0 +1,63 @@
+package org.ifml.eclipse.emf.ui.properties;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.jface.viewers.ISelection;
+import org.eclipse.jface.viewers.StructuredSelection;
+import org.ifml.eclipse.emf.ui.editparts.EditPartEmfSelections;
+
+/**
+ * Resolves the single model element of a selection, remembering the last resolution.
+ * <p>
+ * The tabbed property framework tests the same selection against every registered section, thus the resolution is shared by all
+ * sections and keyed by the identity of the selection. Both the selection and the resolved element are weakly referenced.
+ */
+final class EmfSelectionResolver {
+
+    private static Reference<Object> lastSelection = new WeakReference<Object>(null);
+
+    private static Reference<EObject> lastModelObject = new WeakReference<EObject>(null);
+
+    private EmfSelectionResolver() {
+    }
+
+    /**
+     * Checks whether the model element of a selection has already been resolved.
+     * 
+     * @param toTest
+     *            either a selection or a selected object.
+     * @return {@code true} if the model element of the selection is remembered.
+     */
+    static synchronized boolean isResolved(Object toTest) {
+        return (toTest != null) && (lastSelection.get() == toTest);
+    }
+
+    /**
+     * Returns the single model element of a selection.
+     * 
+     * @param toTest
+     *            either a selection or a selected object.
+     * @return the single selected model element or {@code null} if the selection is not a singleton or if the single selected element
+     *         is not associated with a model element.
+     */
+    static synchronized @Nullable
+    EObject getSingleModelObject(Object toTest) {
+        if ((toTest != null) && (lastSelection.get() == toTest)) {
+            return lastModelObject.get();
+        }
+        EObject modelObject;
+        if (toTest instanceof ISelection) {
+            modelObject = EditPartEmfSelections.getSingleModelObject((ISelection) toTest, EObject.class);
+        } else {
+            modelObject = EditPartEmfSelections.getSingleModelObject(new StructuredSelection(toTest), EObject.class);
+        }
+        lastSelection = new WeakReference<Object>(toTest);
+        lastModelObject = new WeakReference<EObject>(modelObject);
+        return modelObject;
+    }
+
+}
@@ -0,0 +1,60 @@
+package org.ifml.eclipse.emf.ui.properties;
+
+import org.eclipse.jface.databinding.swt.ISWTObservableValue;
+import org.eclipse.jface.databinding.swt.WidgetProperties;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Widget;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * The policy according to which the text typed in a property widget is propagated to the model.
+ * <p>
+ * Each propagation executes a command on the editing domain, thus policies other than {@link #IMMEDIATE} turn a burst of typing into
+ * a single command.
+ */
+public final class EmfTextUpdatePolicy {
+
+    /** Propagates every modification as soon as it is typed. */
+    public static final EmfTextUpdatePolicy IMMEDIATE = new EmfTextUpdatePolicy(new int[] { SWT.Modify }, 0);
+
+    /** Propagates the text when the widget loses the focus or when the default selection (e.g. Enter) occurs. */
+    public static final EmfTextUpdatePolicy ON_COMMIT = new EmfTextUpdatePolicy(new int[] { SWT.FocusOut, SWT.DefaultSelection }, 0);
+
+    private final int[] events;
+
+    private final int delay;
+
+    private EmfTextUpdatePolicy(int[] events, int delay) {
+        this.events = events;
+        this.delay = delay;
+    }
+
+    /**
+     * Returns a policy propagating the text once the user stops typing for a while, or when the widget loses the focus.
+     * 
+     * @param delay
+     *            the idle time in milliseconds.
+     * @return the policy.
+     */
+    public static EmfTextUpdatePolicy debounced(int delay) {
+        Preconditions.checkArgument(delay > 0, "The delay must be positive");
+        return new EmfTextUpdatePolicy(new int[] { SWT.Modify }, delay);
+    }
+
+    /**
+     * Creates the observable of the text of a widget according to this policy.
+     * 
+     * @param widget
+     *            the widget.
+     * @return the text observable.
+     */
+    ISWTObservableValue observe(Widget widget) {
+        if (delay > 0) {
+            return WidgetProperties.text(events).observeDelayed(delay, widget);
+        } else {
+            return WidgetProperties.text(events).observe(widget);
+        }
+    }
+
+}
@@ -0,0 +1,30 @@
+package org.ifml.eclipse.emf.ui.properties;
+
+import org.eclipse.emf.ecore.EStructuralFeature;
+
+/**
+ * The interface of combo handlers whose input is computed in background.
+ * <p>
+ * The {@link #getComboViewerInput(Object, EStructuralFeature)} method is invoked outside the UI thread, inside a read-only transaction
+ * of the editing domain; it must not access any widget. Meanwhile the combo viewer displays the placeholder input. A computation still
+ * pending when another element is selected is cancelled and its result discarded.
+ * 
+ * @param <T>
+ *            the model type.
+ */
+public interface IEmfPropertyAsyncComboHandler<T> extends IEmfPropertyComboHandler<T> {
+
+    /**
+     * Returns the input displayed by a combo viewer while its actual input is being computed.
+     * <p>
+     * This method is invoked in the UI thread.
+     * 
+     * @param elem
+     *            the selected model element.
+     * @param feature
+     *            the structural feature.
+     * @return the placeholder input for the combo viewer.
+     */
+    Object getPlaceholderComboViewerInput(T elem, EStructuralFeature feature);
+
+}
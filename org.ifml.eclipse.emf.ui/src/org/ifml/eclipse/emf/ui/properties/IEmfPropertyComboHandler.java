@@ -5,6 +5,9 @@ import org.eclipse.jface.viewers.ComboViewer;
 
 /**
  * The interface of objects able to handle combo viewers associated with a structural feature.
+ * <p>
+ * Handlers listing the candidates of a reference should retrieve them from the {@link EmfReferenceCandidateIndex} of the editing
+ * domain rather than scanning the resource set, as {@link EmfReferenceCandidateComboHandler} does.
  * 
  * @param <T>
  *            the model type.
@@ -13,6 +16,12 @@ public interface IEmfPropertyComboHandler<T> {
 
     /**
      * Configures a combo viewer associated with a structural feature.
+     * <p>
+     * Combo viewers with an {@link org.eclipse.jface.viewers.ArrayContentProvider} are wrapped into a
+     * {@link org.ifml.eclipse.emf.ui.viewers.WindowedContentProvider} by the property section. Handlers using other content providers
+     * can wrap them before installing them to get the same filtering. Likewise, label providers can be wrapped into an
+     * {@link org.ifml.eclipse.emf.ui.viewers.EmfCachingLabelProvider} before being installed: replacing a provider already installed
+     * would dispose it.
      * 
      * @param comboViewer
      *            the combo viewer.
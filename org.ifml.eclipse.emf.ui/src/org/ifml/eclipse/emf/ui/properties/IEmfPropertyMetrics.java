@@ -0,0 +1,63 @@
+package org.ifml.eclipse.emf.ui.properties;
+
+import org.eclipse.emf.ecore.EStructuralFeature;
+
+/**
+ * The interface of objects recording metrics about the property sheet.
+ * <p>
+ * Metrics are recorded only when an implementation has been installed through {@link EmfPropertyMetrics#setMetrics(IEmfPropertyMetrics)}.
+ * Methods may be invoked by any thread and must return quickly.
+ */
+public interface IEmfPropertyMetrics {
+
+    /**
+     * Records a refresh actually performed by a property section.
+     * 
+     * @param durationNanos
+     *            the duration of the refresh, in nanoseconds.
+     */
+    void refreshPerformed(long durationNanos);
+
+    /**
+     * Records the creation of a binding.
+     */
+    void bindingCreated();
+
+    /**
+     * Records the disposal of a binding.
+     */
+    void bindingDisposed();
+
+    /**
+     * Records the creation of an observable.
+     */
+    void observableCreated();
+
+    /**
+     * Records the disposal of an observable.
+     */
+    void observableDisposed();
+
+    /**
+     * Records the computation of a combo viewer input.
+     * 
+     * @param comboHandler
+     *            the combo handler providing the input.
+     * @param feature
+     *            the structural feature.
+     * @param durationNanos
+     *            the duration of the computation, in nanoseconds.
+     */
+    void comboInputComputed(IEmfPropertyComboHandler<?> comboHandler, EStructuralFeature feature, long durationNanos);
+
+    /**
+     * Records a selection tested by a property section.
+     * 
+     * @param resolved
+     *            {@code true} if the model element of the selection had already been resolved.
+     * @param selected
+     *            {@code true} if the section applies to the selection.
+     */
+    void selectionTested(boolean resolved, boolean selected);
+
+}
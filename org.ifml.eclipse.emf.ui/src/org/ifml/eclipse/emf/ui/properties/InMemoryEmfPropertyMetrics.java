@@ -0,0 +1,168 @@
+package org.ifml.eclipse.emf.ui.properties;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.emf.ecore.EStructuralFeature;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
+/**
+ * An {@link IEmfPropertyMetrics} accumulating metrics in memory.
+ * <p>
+ * The metrics can be read directly or through JMX, by registering this object as a standard MBean.
+ */
+public final class InMemoryEmfPropertyMetrics implements IEmfPropertyMetrics, InMemoryEmfPropertyMetricsMBean {
+
+    private final AtomicLong refreshCount = new AtomicLong();
+
+    private final AtomicLong refreshTotalNanos = new AtomicLong();
+
+    private final AtomicLong refreshMaxNanos = new AtomicLong();
+
+    private final AtomicLong bindingsCreated = new AtomicLong();
+
+    private final AtomicLong bindingsDisposed = new AtomicLong();
+
+    private final AtomicLong observablesCreated = new AtomicLong();
+
+    private final AtomicLong observablesDisposed = new AtomicLong();
+
+    private final AtomicLong selectionTestCount = new AtomicLong();
+
+    private final AtomicLong selectionResolvedCount = new AtomicLong();
+
+    private final AtomicLong selectionHitCount = new AtomicLong();
+
+    private final ConcurrentMap<String, AtomicLong> comboInputTotalNanos = Maps.newConcurrentMap();
+
+    @Override
+    public void refreshPerformed(long durationNanos) {
+        refreshCount.incrementAndGet();
+        refreshTotalNanos.addAndGet(durationNanos);
+        long max;
+        do {
+            max = refreshMaxNanos.get();
+        } while ((durationNanos > max) && !refreshMaxNanos.compareAndSet(max, durationNanos));
+    }
+
+    @Override
+    public void bindingCreated() {
+        bindingsCreated.incrementAndGet();
+    }
+
+    @Override
+    public void bindingDisposed() {
+        bindingsDisposed.incrementAndGet();
+    }
+
+    @Override
+    public void observableCreated() {
+        observablesCreated.incrementAndGet();
+    }
+
+    @Override
+    public void observableDisposed() {
+        observablesDisposed.incrementAndGet();
+    }
+
+    @Override
+    public void comboInputComputed(IEmfPropertyComboHandler<?> comboHandler, EStructuralFeature feature, long durationNanos) {
+        String key = comboHandler.getClass().getName();
+        AtomicLong total = comboInputTotalNanos.get(key);
+        if (total == null) {
+            AtomicLong newTotal = new AtomicLong();
+            total = comboInputTotalNanos.putIfAbsent(key, newTotal);
+            if (total == null) {
+                total = newTotal;
+            }
+        }
+        total.addAndGet(durationNanos);
+    }
+
+    @Override
+    public void selectionTested(boolean resolved, boolean selected) {
+        selectionTestCount.incrementAndGet();
+        if (resolved) {
+            selectionResolvedCount.incrementAndGet();
+        }
+        if (selected) {
+            selectionHitCount.incrementAndGet();
+        }
+    }
+
+    @Override
+    public long getRefreshCount() {
+        return refreshCount.get();
+    }
+
+    @Override
+    public long getRefreshTotalNanos() {
+        return refreshTotalNanos.get();
+    }
+
+    @Override
+    public long getRefreshMaxNanos() {
+        return refreshMaxNanos.get();
+    }
+
+    @Override
+    public long getBindingsCreated() {
+        return bindingsCreated.get();
+    }
+
+    @Override
+    public long getBindingsDisposed() {
+        return bindingsDisposed.get();
+    }
+
+    @Override
+    public long getObservablesCreated() {
+        return observablesCreated.get();
+    }
+
+    @Override
+    public long getObservablesDisposed() {
+        return observablesDisposed.get();
+    }
+
+    @Override
+    public long getSelectionTestCount() {
+        return selectionTestCount.get();
+    }
+
+    @Override
+    public double getSelectionResolvedRatio() {
+        return ratio(selectionResolvedCount.get(), selectionTestCount.get());
+    }
+
+    @Override
+    public double getSelectionHitRatio() {
+        return ratio(selectionHitCount.get(), selectionTestCount.get());
+    }
+
+    @Override
+    public Map<String, Long> getComboInputTotalNanos() {
+        ImmutableMap.Builder<String, Long> result = ImmutableMap.builder();
+        for (Map.Entry<String, AtomicLong> entry : comboInputTotalNanos.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().get());
+        }
+        return result.build();
+    }
+
+    @Override
+    public void reset() {
+        for (AtomicLong counter : new AtomicLong[] { refreshCount, refreshTotalNanos, refreshMaxNanos, bindingsCreated, bindingsDisposed,
+                observablesCreated, observablesDisposed, selectionTestCount, selectionResolvedCount, selectionHitCount }) {
+            counter.set(0);
+        }
+        comboInputTotalNanos.clear();
+    }
+
+    private static double ratio(long count, long total) {
+        return (total > 0) ? ((double) count / total) : 0;
+    }
+
+}
@@ -0,0 +1,92 @@
+package org.ifml.eclipse.emf.ui.properties;
+
+import java.util.Map;
+
+/**
+ * The management interface of {@link InMemoryEmfPropertyMetrics}.
+ */
+public interface InMemoryEmfPropertyMetricsMBean {
+
+    /**
+     * Returns the number of refreshes performed.
+     * 
+     * @return the number of refreshes.
+     */
+    long getRefreshCount();
+
+    /**
+     * Returns the total duration of the refreshes performed.
+     * 
+     * @return the total duration, in nanoseconds.
+     */
+    long getRefreshTotalNanos();
+
+    /**
+     * Returns the longest duration of a refresh.
+     * 
+     * @return the maximum duration, in nanoseconds.
+     */
+    long getRefreshMaxNanos();
+
+    /**
+     * Returns the number of bindings created.
+     * 
+     * @return the number of created bindings.
+     */
+    long getBindingsCreated();
+
+    /**
+     * Returns the number of bindings disposed.
+     * 
+     * @return the number of disposed bindings.
+     */
+    long getBindingsDisposed();
+
+    /**
+     * Returns the number of observables created.
+     * 
+     * @return the number of created observables.
+     */
+    long getObservablesCreated();
+
+    /**
+     * Returns the number of observables disposed.
+     * 
+     * @return the number of disposed observables.
+     */
+    long getObservablesDisposed();
+
+    /**
+     * Returns the number of selections tested by property sections.
+     * 
+     * @return the number of tested selections.
+     */
+    long getSelectionTestCount();
+
+    /**
+     * Returns the ratio of tested selections whose model element had already been resolved.
+     * 
+     * @return the ratio, between 0 and 1.
+     */
+    double getSelectionResolvedRatio();
+
+    /**
+     * Returns the ratio of tested selections to which the testing section applies.
+     * 
+     * @return the ratio, between 0 and 1.
+     */
+    double getSelectionHitRatio();
+
+    /**
+     * Returns the total time spent computing combo viewer inputs, per combo handler class.
+     * 
+     * @return the map associating the name of each combo handler class with a duration, in nanoseconds.
+     */
+    Map<String, Long> getComboInputTotalNanos();
+
+    /**
+     * Resets all the metrics.
+     */
+    void reset();
+
+}
@@ -0,0 +1,169 @@
+package org.ifml.eclipse.emf.ui.viewers;
+
+import java.util.Set;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.jface.viewers.ILabelProvider;
+import org.eclipse.jface.viewers.ILabelProviderListener;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.LabelProviderChangedEvent;
+import org.eclipse.swt.graphics.Image;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * A label provider caching the texts of EMF elements computed by another label provider.
+ * <p>
+ * The cache holds its elements weakly. An entry is invalidated when the element notifies the change of a feature its label depends on
+ * (by default any attribute or non-containment reference), or when the wrapped provider reports a label change. Disposing this
+ * provider disposes the wrapped one.
+ * <p>
+ * Only the notifications of the labelled element itself are tracked: labels depending on the attributes of other elements, such as the
+ * name of a referenced element, are invalidated only if the wrapped provider fires label change events for the labelled element.
+ */
+public final class EmfCachingLabelProvider extends LabelProvider {
+
+    private final ILabelProvider delegate;
+
+    private final Set<EStructuralFeature> labelFeatures;
+
+    private final Cache<EObject, String> texts = CacheBuilder.newBuilder().weakKeys().build();
+
+    private final Adapter invalidator = new Invalidator();
+
+    private final ILabelProviderListener delegateListener = new ILabelProviderListener() {
+        @Override
+        public void labelProviderChanged(LabelProviderChangedEvent event) {
+            Object[] elements = event.getElements();
+            if (elements == null) {
+                invalidateAll();
+            } else {
+                for (Object element : elements) {
+                    if (element instanceof EObject) {
+                        invalidate((EObject) element);
+                    }
+                }
+            }
+            fireLabelProviderChanged(new LabelProviderChangedEvent(EmfCachingLabelProvider.this, elements));
+        }
+    };
+
+    /**
+     * Constructs a new label provider whose labels depend on any attribute or non-containment reference.
+     * 
+     * @param delegate
+     *            the label provider computing the texts.
+     */
+    public EmfCachingLabelProvider(ILabelProvider delegate) {
+        this(delegate, ImmutableSet.<EStructuralFeature> of());
+    }
+
+    /**
+     * Constructs a new label provider whose labels depend on a set of features.
+     * 
+     * @param delegate
+     *            the label provider computing the texts.
+     * @param labelFeatures
+     *            the features the labels depend on; if empty, labels depend on any attribute or non-containment reference.
+     */
+    public EmfCachingLabelProvider(ILabelProvider delegate, Set<? extends EStructuralFeature> labelFeatures) {
+        this.delegate = delegate;
+        this.labelFeatures = ImmutableSet.<EStructuralFeature> copyOf(labelFeatures);
+        delegate.addListener(delegateListener);
+    }
+
+    @Override
+    public String getText(Object element) {
+        if (!(element instanceof EObject)) {
+            return delegate.getText(element);
+        }
+        EObject eObj = (EObject) element;
+        String text = texts.getIfPresent(eObj);
+        if (text == null) {
+            text = delegate.getText(eObj);
+            if (text != null) {
+                if (!eObj.eAdapters().contains(invalidator)) {
+                    eObj.eAdapters().add(invalidator);
+                }
+                texts.put(eObj, text);
+            }
+        }
+        return text;
+    }
+
+    @Override
+    public Image getImage(Object element) {
+        return delegate.getImage(element);
+    }
+
+    /**
+     * Returns the number of cached texts.
+     * 
+     * @return the cache size.
+     */
+    public long size() {
+        return texts.size();
+    }
+
+    @Override
+    public void dispose() {
+        invalidateAll();
+        delegate.removeListener(delegateListener);
+        delegate.dispose();
+        super.dispose();
+    }
+
+    private void invalidate(EObject eObj) {
+        texts.invalidate(eObj);
+        eObj.eAdapters().remove(invalidator);
+    }
+
+    private void invalidateAll() {
+        for (EObject eObj : texts.asMap().keySet()) {
+            eObj.eAdapters().remove(invalidator);
+        }
+        texts.invalidateAll();
+    }
+
+    private boolean isLabelFeature(Object feature) {
+        if (!labelFeatures.isEmpty()) {
+            return labelFeatures.contains(feature);
+        }
+        return (feature instanceof EAttribute) || ((feature instanceof EReference) && !((EReference) feature).isContainment());
+    }
+
+    private final class Invalidator implements Adapter {
+
+        @Override
+        public void notifyChanged(Notification notification) {
+            if (!notification.isTouch() && isLabelFeature(notification.getFeature())
+                    && (notification.getNotifier() instanceof EObject)) {
+                invalidate((EObject) notification.getNotifier());
+            }
+        }
+
+        @Override
+        public Notifier getTarget() {
+            return null;
+        }
+
+        @Override
+        public void setTarget(Notifier newTarget) {
+        }
+
+        @Override
+        public boolean isAdapterForType(Object type) {
+            return false;
+        }
+
+    }
+
+}
@@ -1,10 +1,28 @@
 package org.ifml.eclipse.emf.ui.viewers;
 
+import java.util.Collection;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.InternalEList;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.emf.transaction.util.TransactionUtil;
+import org.eclipse.jface.viewers.AbstractListViewer;
+import org.eclipse.jface.viewers.AbstractTableViewer;
+import org.eclipse.jface.viewers.ContentViewer;
+import org.eclipse.jface.viewers.ILazyContentProvider;
 import org.eclipse.jface.viewers.IStructuredContentProvider;
 import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
 import org.ifml.base.Objects2;
 
 /**
@@ -18,46 +36,458 @@ public final class EmfContentProviders {
 
     /**
      * Creates a structured content provider able to return the child elements of an element based on a specific containment feature.
+     * <p>
+     * The provider listens to the changes of the containment feature and applies them to table and list viewers as targeted additions
+     * and removals, thus the viewer does not need to be refreshed as a whole. When the provider is wrapped by a
+     * {@link WindowedContentProvider}, the changes are applied to the elements retrieved by the wrapper.
      * 
      * @param containmentFeature
      *            the containment feature.
      * @return the structured content provider.
      */
     public static final IStructuredContentProvider newChildrenContentProvider(EStructuralFeature containmentFeature) {
-        return new ChildrenContentProvider(containmentFeature);
+        return new ChildrenContentProvider(containmentFeature, true);
+    }
+
+    /**
+     * Creates a structured content provider able to return the child elements of an element based on a specific containment feature,
+     * optionally without resolving proxies.
+     * <p>
+     * When {@code resolveProxies} is {@code false}, unresolved proxies are returned as they are, to be displayed for instance through
+     * {@link EmfLabelProviders#newProxyLabelProvider(org.eclipse.jface.viewers.ILabelProvider)}; they are then resolved by a background
+     * job, in a read-only transaction of the editing domain if any, and the viewer rows are updated as soon as each proxy is resolved.
+     * 
+     * @param containmentFeature
+     *            the containment feature.
+     * @param resolveProxies
+     *            {@code false} to return the children without resolving them.
+     * @return the structured content provider.
+     */
+    public static final IStructuredContentProvider newChildrenContentProvider(EStructuralFeature containmentFeature,
+            boolean resolveProxies) {
+        return new ChildrenContentProvider(containmentFeature, resolveProxies);
+    }
+
+    /**
+     * Creates a lazy content provider able to return the child elements of an element based on a specific containment feature.
+     * <p>
+     * The provider serves the elements one index at a time straight from the containment list, without copying it; it is meant to be
+     * used with {@link org.eclipse.jface.viewers.TableViewer}s created with the {@link org.eclipse.swt.SWT#VIRTUAL} style, so that
+     * only the visible rows are materialized. The provider listens to the changes of the containment feature and updates the item
+     * count of the viewer accordingly.
+     * 
+     * @param containmentFeature
+     *            the containment feature.
+     * @return the lazy content provider.
+     */
+    public static final ILazyContentProvider newLazyChildrenContentProvider(EStructuralFeature containmentFeature) {
+        return new LazyChildrenContentProvider(containmentFeature);
     }
 
     private static class ChildrenContentProvider implements IStructuredContentProvider {
 
+        private Viewer viewer;
+
         private EObject parent;
 
         private final EStructuralFeature containmentFeature;
 
-        public ChildrenContentProvider(EStructuralFeature containmentFeature) {
+        private final boolean resolveProxies;
+
+        private Job resolutionJob;
+
+        private final Adapter adapter = new AdapterImpl() {
+            @Override
+            public void notifyChanged(Notification msg) {
+                // in resolving mode the proxies are resolved by getElements itself, while the viewer is refreshing
+                if ((msg.getFeature() == containmentFeature)
+                        && (!msg.isTouch() || (!resolveProxies && (msg.getEventType() == Notification.RESOLVE)))) {
+                    handleChange(msg);
+                }
+            }
+        };
+
+        public ChildrenContentProvider(EStructuralFeature containmentFeature, boolean resolveProxies) {
             this.containmentFeature = containmentFeature;
+            this.resolveProxies = resolveProxies;
         }
 
         @Override
         public void dispose() {
-            this.parent = null;
+            setParent(null);
+            this.viewer = null;
         }
 
         @Override
         public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
-            this.parent = Objects2.as(newInput, EObject.class);
+            this.viewer = viewer;
+            setParent(Objects2.as(newInput, EObject.class));
+        }
+
+        private void setParent(EObject parent) {
+            if (resolutionJob != null) {
+                resolutionJob.cancel();
+                resolutionJob = null;
+            }
+            if (this.parent != null) {
+                this.parent.eAdapters().remove(adapter);
+            }
+            this.parent = parent;
+            if (parent != null) {
+                parent.eAdapters().add(adapter);
+            }
+        }
+
+        private void handleChange(final Notification msg) {
+            final Viewer viewer = this.viewer;
+            Control control = (viewer != null) ? viewer.getControl() : null;
+            if ((control == null) || control.isDisposed()) {
+                return;
+            }
+            if (Display.getCurrent() == control.getDisplay()) {
+                applyChange(viewer, msg);
+            } else {
+                control.getDisplay().asyncExec(new Runnable() {
+                    @Override
+                    public void run() {
+                        if ((viewer == ChildrenContentProvider.this.viewer) && !viewer.getControl().isDisposed()) {
+                            applyChange(viewer, msg);
+                        }
+                    }
+                });
+            }
+        }
+
+        private void applyChange(Viewer viewer, Notification msg) {
+            Object contentProvider = (viewer instanceof ContentViewer) ? ((ContentViewer) viewer).getContentProvider() : null;
+            if ((contentProvider instanceof WindowedContentProvider)
+                    && (((WindowedContentProvider) contentProvider).getDelegate() == this)) {
+                // the window caches the elements of this provider, refreshing alone would display them unchanged
+                applyChange((WindowedContentProvider) contentProvider, msg);
+                viewer.refresh();
+                return;
+            }
+            if (contentProvider != this) {
+                // positions are meaningful only if the viewer displays the elements of this provider unchanged
+                viewer.refresh();
+                return;
+            }
+            int position = Math.max(msg.getPosition(), 0);
+            switch (msg.getEventType()) {
+            case Notification.ADD:
+                insert(viewer, msg.getNewValue(), position);
+                break;
+            case Notification.ADD_MANY:
+                for (Object child : (Collection<?>) msg.getNewValue()) {
+                    insert(viewer, child, position++);
+                }
+                break;
+            case Notification.REMOVE:
+                remove(viewer, msg.getOldValue());
+                break;
+            case Notification.REMOVE_MANY:
+                for (Object child : (Collection<?>) msg.getOldValue()) {
+                    remove(viewer, child);
+                }
+                break;
+            case Notification.MOVE:
+            case Notification.SET:
+            case Notification.UNSET:
+            case Notification.RESOLVE:
+                Object oldValue = (msg.getEventType() == Notification.MOVE) ? msg.getNewValue() : msg.getOldValue();
+                if (oldValue != null) {
+                    remove(viewer, oldValue);
+                }
+                if (msg.getNewValue() != null) {
+                    insert(viewer, msg.getNewValue(), position);
+                }
+                break;
+            default:
+                viewer.refresh();
+                break;
+            }
+        }
+
+        private static void applyChange(WindowedContentProvider window, Notification msg) {
+            int position = Math.max(msg.getPosition(), 0);
+            switch (msg.getEventType()) {
+            case Notification.ADD:
+                window.add(msg.getNewValue(), position);
+                break;
+            case Notification.ADD_MANY:
+                for (Object child : (Collection<?>) msg.getNewValue()) {
+                    window.add(child, position++);
+                }
+                break;
+            case Notification.REMOVE:
+                window.remove(msg.getOldValue());
+                break;
+            case Notification.REMOVE_MANY:
+                for (Object child : (Collection<?>) msg.getOldValue()) {
+                    window.remove(child);
+                }
+                break;
+            case Notification.MOVE:
+            case Notification.SET:
+            case Notification.UNSET:
+            case Notification.RESOLVE:
+                Object oldValue = (msg.getEventType() == Notification.MOVE) ? msg.getNewValue() : msg.getOldValue();
+                if (oldValue != null) {
+                    window.remove(oldValue);
+                }
+                if (msg.getNewValue() != null) {
+                    window.add(msg.getNewValue(), position);
+                }
+                break;
+            default:
+                window.reload();
+                break;
+            }
+        }
+
+        private static void insert(Viewer viewer, Object child, int position) {
+            if (viewer instanceof AbstractTableViewer) {
+                ((AbstractTableViewer) viewer).insert(child, position);
+            } else if (viewer instanceof AbstractListViewer) {
+                ((AbstractListViewer) viewer).insert(child, position);
+            } else {
+                viewer.refresh();
+            }
+        }
+
+        private static void remove(Viewer viewer, Object child) {
+            if (viewer instanceof AbstractTableViewer) {
+                ((AbstractTableViewer) viewer).remove(child);
+            } else if (viewer instanceof AbstractListViewer) {
+                ((AbstractListViewer) viewer).remove(child);
+            } else {
+                viewer.refresh();
+            }
         }
 
         @Override
         public Object[] getElements(Object inputElement) {
             if (inputElement == parent) {
+                Object result = parent.eGet(containmentFeature, resolveProxies);
+                Object[] elements;
+                if ((result instanceof InternalEList<?>) && !resolveProxies) {
+                    elements = ((InternalEList<?>) result).basicToArray();
+                } else if (result instanceof EList<?>) {
+                    elements = ((EList<?>) result).toArray();
+                } else if (result != null) {
+                    elements = new Object[] { result };
+                } else {
+                    elements = new Object[0];
+                }
+                if (!resolveProxies) {
+                    scheduleResolution(elements);
+                }
+                return elements;
+            }
+            return new Object[0];
+        }
+
+        /**
+         * Schedules the resolution of the proxies among the children, at most once per input: proxies failing to resolve are not
+         * retried on each refresh.
+         */
+        private void scheduleResolution(Object[] elements) {
+            if (resolutionJob != null) {
+                return;
+            }
+            for (Object element : elements) {
+                if ((element instanceof EObject) && ((EObject) element).eIsProxy()) {
+                    resolutionJob = new ProxyResolutionJob(parent, containmentFeature);
+                    resolutionJob.schedule();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolves the proxies contained by an element, in a read-only transaction if the element belongs to an editing domain.
+     * <p>
+     * Each resolution is notified to the adapters of the element, thus to the content provider displaying its children.
+     */
+    private static final class ProxyResolutionJob extends Job {
+
+        private final EObject parent;
+
+        private final EStructuralFeature containmentFeature;
+
+        ProxyResolutionJob(EObject parent, EStructuralFeature containmentFeature) {
+            super(String.format("Resolving %s", containmentFeature.getName()));
+            this.parent = parent;
+            this.containmentFeature = containmentFeature;
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(final IProgressMonitor monitor) {
+            Runnable resolution = new Runnable() {
+                @Override
+                public void run() {
+                    Object result = parent.eGet(containmentFeature, false);
+                    if (result instanceof InternalEList<?>) {
+                        InternalEList<?> children = (InternalEList<?>) result;
+                        for (int i = 0; (i < children.size()) && !monitor.isCanceled(); i++) {
+                            if (((EObject) children.basicGet(i)).eIsProxy()) {
+                                children.get(i);
+                            }
+                        }
+                    } else if ((result instanceof EObject) && ((EObject) result).eIsProxy()) {
+                        parent.eGet(containmentFeature, true);
+                    }
+                }
+            };
+            TransactionalEditingDomain editingDomain = TransactionUtil.getEditingDomain(parent);
+            if (editingDomain == null) {
+                resolution.run();
+            } else {
+                try {
+                    editingDomain.runExclusive(resolution);
+                } catch (InterruptedException e) {
+                    return Status.CANCEL_STATUS;
+                }
+            }
+            return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+        }
+
+    }
+
+    private static class LazyChildrenContentProvider implements ILazyContentProvider {
+
+        private AbstractTableViewer viewer;
+
+        private EObject parent;
+
+        private final EStructuralFeature containmentFeature;
+
+        private final Adapter adapter = new AdapterImpl() {
+            @Override
+            public void notifyChanged(Notification msg) {
+                // the resolution of proxies by updateElement is a touch and does not change the count
+                if ((msg.getFeature() == containmentFeature) && !msg.isTouch()) {
+                    handleChange(msg);
+                }
+            }
+        };
+
+        public LazyChildrenContentProvider(EStructuralFeature containmentFeature) {
+            this.containmentFeature = containmentFeature;
+        }
+
+        @Override
+        public void dispose() {
+            setParent(null);
+            this.viewer = null;
+        }
+
+        @Override
+        public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+            this.viewer = Objects2.as(viewer, AbstractTableViewer.class);
+            setParent(Objects2.as(newInput, EObject.class));
+            if (this.viewer != null) {
+                this.viewer.setItemCount(getChildCount());
+            }
+        }
+
+        private void setParent(EObject parent) {
+            if (this.parent != null) {
+                this.parent.eAdapters().remove(adapter);
+            }
+            this.parent = parent;
+            if (parent != null) {
+                parent.eAdapters().add(adapter);
+            }
+        }
+
+        private void handleChange(Notification msg) {
+            // the range of positions whose element may have changed, or a negative start if unknown
+            final int start;
+            final int end;
+            int position = msg.getPosition();
+            switch (msg.getEventType()) {
+            case Notification.ADD:
+            case Notification.ADD_MANY:
+            case Notification.REMOVE:
+            case Notification.REMOVE_MANY:
+                start = Math.max(position, 0);
+                end = Integer.MAX_VALUE;
+                break;
+            case Notification.MOVE:
+                int oldPosition = (Integer) msg.getOldValue();
+                start = Math.min(oldPosition, position);
+                end = Math.max(oldPosition, position) + 1;
+                break;
+            case Notification.SET:
+                start = Math.max(position, 0);
+                end = (position >= 0) ? position + 1 : Integer.MAX_VALUE;
+                break;
+            default:
+                start = -1;
+                end = -1;
+                break;
+            }
+            final AbstractTableViewer viewer = this.viewer;
+            Control control = (viewer != null) ? viewer.getControl() : null;
+            if ((control == null) || control.isDisposed()) {
+                return;
+            }
+            if (Display.getCurrent() == control.getDisplay()) {
+                updateItems(viewer, start, end);
+            } else {
+                control.getDisplay().asyncExec(new Runnable() {
+                    @Override
+                    public void run() {
+                        if ((viewer == LazyChildrenContentProvider.this.viewer) && !viewer.getControl().isDisposed()) {
+                            updateItems(viewer, start, end);
+                        }
+                    }
+                });
+            }
+        }
+
+        private void updateItems(AbstractTableViewer viewer, int start, int end) {
+            int count = getChildCount();
+            viewer.setItemCount(count);
+            if (start < 0) {
+                viewer.refresh();
+                return;
+            }
+            // the materialized rows in the range may display the elements formerly at their positions: clearing them lets the
+            // viewer request their elements again when they are shown
+            for (int i = start, last = Math.min(end, count); i < last; i++) {
+                viewer.clear(i);
+            }
+        }
+
+        @Override
+        public void updateElement(int index) {
+            if ((viewer != null) && (parent != null)) {
                 Object result = parent.eGet(containmentFeature, true);
                 if (result instanceof EList<?>) {
-                    return ((EList<?>) result).toArray();
+                    EList<?> children = (EList<?>) result;
+                    if (index < children.size()) {
+                        viewer.replace(children.get(index), index);
+                    }
+                } else if ((result != null) && (index == 0)) {
+                    viewer.replace(result, index);
+                }
+            }
+        }
+
+        private int getChildCount() {
+            if (parent != null) {
+                Object result = parent.eGet(containmentFeature, true);
+                if (result instanceof EList<?>) {
+                    return ((EList<?>) result).size();
                 } else if (result != null) {
-                    return new Object[] { result };
+                    return 1;
                 }
             }
-            return new Object[0];
+            return 0;
         }
     }
 
@@ -0,0 +1,78 @@
+package org.ifml.eclipse.emf.ui.viewers;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.jface.viewers.ILabelProvider;
+import org.eclipse.jface.viewers.ILabelProviderListener;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.LabelProviderChangedEvent;
+import org.eclipse.swt.graphics.Image;
+
+/**
+ * Provides utility methods for EMF-based label providers.
+ */
+public final class EmfLabelProviders {
+
+    private static final String PROXY_PLACEHOLDER = "Loading...";
+
+    private EmfLabelProviders() {
+    }
+
+    /**
+     * Creates a label provider displaying a placeholder for unresolved proxies and delegating any other element to another provider.
+     * <p>
+     * The label changes reported by the wrapped provider are reported to the listeners of the returned one.
+     * 
+     * @param delegate
+     *            the label provider of the resolved elements.
+     * @return the label provider.
+     */
+    public static final ILabelProvider newProxyLabelProvider(ILabelProvider delegate) {
+        return new ProxyLabelProvider(delegate);
+    }
+
+    private static final class ProxyLabelProvider extends LabelProvider {
+
+        private final ILabelProvider delegate;
+
+        private final ILabelProviderListener delegateListener = new ILabelProviderListener() {
+            @Override
+            public void labelProviderChanged(LabelProviderChangedEvent event) {
+                fireLabelProviderChanged(new LabelProviderChangedEvent(ProxyLabelProvider.this, event.getElements()));
+            }
+        };
+
+        ProxyLabelProvider(ILabelProvider delegate) {
+            this.delegate = delegate;
+            delegate.addListener(delegateListener);
+        }
+
+        @Override
+        public String getText(Object element) {
+            if (isProxy(element)) {
+                return PROXY_PLACEHOLDER;
+            }
+            return delegate.getText(element);
+        }
+
+        @Override
+        public Image getImage(Object element) {
+            if (isProxy(element)) {
+                return null;
+            }
+            return delegate.getImage(element);
+        }
+
+        @Override
+        public void dispose() {
+            delegate.removeListener(delegateListener);
+            delegate.dispose();
+            super.dispose();
+        }
+
+        private static boolean isProxy(Object element) {
+            return (element instanceof EObject) && ((EObject) element).eIsProxy();
+        }
+
+    }
+
+}
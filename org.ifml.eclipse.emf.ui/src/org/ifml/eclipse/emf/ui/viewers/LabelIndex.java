@@ -0,0 +1,155 @@
+package org.ifml.eclipse.emf.ui.viewers;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+
+import org.eclipse.jface.viewers.ILabelProvider;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * An index of elements by their lower-case label, supporting prefix and substring matching.
+ * <p>
+ * Labels are computed once, when an element is added. The index is not thread-safe and is meant to be used in the UI thread.
+ */
+public final class LabelIndex {
+
+    /** The maximum number of labels examined for substring matches, which keeps each match well under a frame. */
+    private static final int MAX_SUBSTRING_SCAN = 4096;
+
+    private final ILabelProvider labelProvider;
+
+    private final NavigableMap<String, List<Object>> elementsByLabel = Maps.newTreeMap();
+
+    private final Map<Object, String> labels = Maps.newHashMap();
+
+    /**
+     * Constructs a new index.
+     * 
+     * @param labelProvider
+     *            the label provider.
+     * @param elements
+     *            the initial elements.
+     */
+    public LabelIndex(ILabelProvider labelProvider, Iterable<?> elements) {
+        this.labelProvider = labelProvider;
+        for (Object element : elements) {
+            add(element);
+        }
+    }
+
+    /**
+     * Adds an element to the index.
+     * 
+     * @param element
+     *            the element.
+     */
+    public void add(Object element) {
+        if (labels.containsKey(element)) {
+            return;
+        }
+        String key = toKey(labelProvider.getText(element));
+        labels.put(element, key);
+        List<Object> elements = elementsByLabel.get(key);
+        if (elements == null) {
+            elements = Lists.newArrayListWithCapacity(1);
+            elementsByLabel.put(key, elements);
+        }
+        elements.add(element);
+    }
+
+    /**
+     * Removes an element from the index.
+     * 
+     * @param element
+     *            the element.
+     */
+    public void remove(Object element) {
+        String key = labels.remove(element);
+        if (key != null) {
+            List<Object> elements = elementsByLabel.get(key);
+            elements.remove(element);
+            if (elements.isEmpty()) {
+                elementsByLabel.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Computes again the label of an indexed element.
+     * 
+     * @param element
+     *            the element.
+     */
+    public void update(Object element) {
+        if (labels.containsKey(element)) {
+            remove(element);
+            add(element);
+        }
+    }
+
+    /**
+     * Returns the number of indexed elements.
+     * 
+     * @return the number of elements.
+     */
+    public int size() {
+        return labels.size();
+    }
+
+    /**
+     * Returns the elements whose label matches a text, ignoring case.
+     * <p>
+     * Elements whose label starts with the text come first, in label order; then, if they are fewer than the limit, come the elements
+     * whose label just contains the text. Prefix matches are looked up in the index, while substring matches are searched among a
+     * bounded number of labels only, thus they may be incomplete for large indexes.
+     * 
+     * @param text
+     *            the text to match.
+     * @param limit
+     *            the maximum number of elements to return.
+     * @return the list of matching elements.
+     */
+    public List<Object> match(String text, int limit) {
+        String key = toKey(text);
+        List<Object> result = Lists.newArrayListWithCapacity(Math.min(limit, size()));
+        for (Map.Entry<String, List<Object>> entry : elementsByLabel.tailMap(key, true).entrySet()) {
+            if (!entry.getKey().startsWith(key)) {
+                break;
+            }
+            if (!addAll(result, entry.getValue(), limit)) {
+                return result;
+            }
+        }
+        if (!key.isEmpty()) {
+            int scanned = 0;
+            for (Map.Entry<String, List<Object>> entry : elementsByLabel.entrySet()) {
+                if (++scanned > MAX_SUBSTRING_SCAN) {
+                    break;
+                }
+                if (!entry.getKey().startsWith(key) && entry.getKey().contains(key) && !addAll(result, entry.getValue(), limit)) {
+                    return result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean addAll(List<Object> result, List<Object> elements, int limit) {
+        for (Object element : elements) {
+            if (result.size() >= limit) {
+                return false;
+            }
+            result.add(element);
+        }
+        return true;
+    }
+
+    private static String toKey(String label) {
+        return (label != null) ? label.toLowerCase(Locale.ENGLISH) : "";
+    }
+
+}
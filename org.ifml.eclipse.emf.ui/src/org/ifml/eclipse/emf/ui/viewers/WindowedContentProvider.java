@@ -0,0 +1,245 @@
+package org.ifml.eclipse.emf.ui.viewers;
+
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.jface.viewers.ContentViewer;
+import org.eclipse.jface.viewers.ILabelProvider;
+import org.eclipse.jface.viewers.ILabelProviderListener;
+import org.eclipse.jface.viewers.IStructuredContentProvider;
+import org.eclipse.jface.viewers.LabelProviderChangedEvent;
+import org.eclipse.jface.viewers.Viewer;
+import org.ifml.base.Objects2;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+/**
+ * A structured content provider returning a bounded window of the elements of another provider, filtered by their labels.
+ * <p>
+ * As long as the wrapped provider returns no more elements than the window size, its elements are returned unchanged. Otherwise only
+ * the elements matching the current filter text are returned, up to the window size, using a {@link LabelIndex} built once per input.
+ * <p>
+ * The elements of the wrapped provider are retrieved once per input, thus refreshing the viewer while typing the filter text only
+ * queries the index. Changes of the elements are applied incrementally through {@link #add(Object)} and {@link #remove(Object)}, or
+ * by {@link #reload()}ing all of them; label changes notified by the label provider are applied to the index.
+ */
+public final class WindowedContentProvider implements IStructuredContentProvider {
+
+    private final IStructuredContentProvider delegate;
+
+    private final int windowSize;
+
+    private ILabelProvider labelProvider;
+
+    private List<Object> elements;
+
+    private final Set<Object> elementSet = Sets.newIdentityHashSet();
+
+    private LabelIndex index;
+
+    private boolean windowed;
+
+    private String filter = "";
+
+    private Object pinned;
+
+    private final ILabelProviderListener labelProviderListener = new ILabelProviderListener() {
+        @Override
+        public void labelProviderChanged(LabelProviderChangedEvent event) {
+            if (index == null) {
+                return;
+            }
+            Object[] changedElements = event.getElements();
+            if (changedElements == null) {
+                index = null;
+            } else {
+                for (Object element : changedElements) {
+                    index.update(element);
+                }
+            }
+        }
+    };
+
+    /**
+     * Constructs a new content provider.
+     * 
+     * @param delegate
+     *            the wrapped content provider.
+     * @param windowSize
+     *            the maximum number of elements to return.
+     */
+    public WindowedContentProvider(IStructuredContentProvider delegate, int windowSize) {
+        Preconditions.checkArgument(windowSize > 0);
+        this.delegate = delegate;
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public void dispose() {
+        delegate.dispose();
+        setLabelProvider(null);
+        reload();
+        index = null;
+        pinned = null;
+    }
+
+    @Override
+    public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+        delegate.inputChanged(viewer, oldInput, newInput);
+        setLabelProvider((viewer instanceof ContentViewer) ? Objects2.as(((ContentViewer) viewer).getLabelProvider(),
+                ILabelProvider.class) : null);
+        reload();
+        windowed = false;
+        filter = "";
+    }
+
+    @Override
+    public Object[] getElements(Object inputElement) {
+        if (elements == null) {
+            elements = Lists.newArrayList(delegate.getElements(inputElement));
+            elementSet.addAll(elements);
+        }
+        windowed = (labelProvider != null) && (elements.size() > windowSize);
+        if (!windowed) {
+            return elements.toArray();
+        }
+        if (index == null) {
+            index = new LabelIndex(labelProvider, elements);
+        }
+        List<Object> window = index.match(filter, windowSize);
+        if ((pinned != null) && !window.contains(pinned)) {
+            window.add(0, pinned);
+        }
+        return window.toArray();
+    }
+
+    private void setLabelProvider(@Nullable ILabelProvider labelProvider) {
+        if (this.labelProvider != null) {
+            this.labelProvider.removeListener(labelProviderListener);
+        }
+        this.labelProvider = labelProvider;
+        if (labelProvider != null) {
+            labelProvider.addListener(labelProviderListener);
+        }
+    }
+
+    /**
+     * Returns the wrapped content provider.
+     * 
+     * @return the wrapped content provider.
+     */
+    public IStructuredContentProvider getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Adds an element provided by the wrapped provider since the elements were retrieved.
+     * <p>
+     * The viewer must be refreshed afterwards.
+     * 
+     * @param element
+     *            the added element.
+     */
+    public void add(Object element) {
+        add(element, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Adds an element provided by the wrapped provider at a specific position since the elements were retrieved.
+     * <p>
+     * The viewer must be refreshed afterwards.
+     * 
+     * @param element
+     *            the added element.
+     * @param position
+     *            the position of the element among the elements of the wrapped provider; the element is appended if the position is
+     *            out of range.
+     */
+    public void add(Object element, int position) {
+        if ((elements != null) && elementSet.add(element)) {
+            elements.add(Math.max(Math.min(position, elements.size()), 0), element);
+            if (index != null) {
+                index.add(element);
+            }
+        }
+    }
+
+    /**
+     * Removes an element no longer provided by the wrapped provider.
+     * <p>
+     * The viewer must be refreshed afterwards.
+     * 
+     * @param element
+     *            the removed element.
+     */
+    public void remove(Object element) {
+        if ((elements != null) && elementSet.remove(element)) {
+            elements.remove(element);
+            if (index != null) {
+                index.remove(element);
+            }
+        }
+    }
+
+    /**
+     * Discards the retrieved elements, so that they are retrieved again from the wrapped provider on the next refresh.
+     */
+    public void reload() {
+        elements = null;
+        elementSet.clear();
+        index = null;
+    }
+
+    /**
+     * Checks whether the last returned elements were a window of the whole set of elements.
+     * 
+     * @return {@code true} if the elements are filtered.
+     */
+    public boolean isWindowed() {
+        return windowed;
+    }
+
+    /**
+     * Returns the current filter text.
+     * 
+     * @return the filter text.
+     */
+    public String getFilter() {
+        return filter;
+    }
+
+    /**
+     * Sets the filter text; it is reset whenever the input changes.
+     * 
+     * @param filter
+     *            the filter text.
+     */
+    public void setFilter(String filter) {
+        this.filter = Preconditions.checkNotNull(filter);
+    }
+
+    /**
+     * Sets the element which is always part of the window, usually the current selection.
+     * 
+     * @param pinned
+     *            the pinned element.
+     */
+    public void setPinned(@Nullable Object pinned) {
+        this.pinned = pinned;
+    }
+
+    /**
+     * Returns the label index of the current input, allowing incremental updates.
+     * 
+     * @return the label index or {@code null} if the elements are not windowed.
+     */
+    public @Nullable
+    LabelIndex getIndex() {
+        return index;
+    }
+
+}